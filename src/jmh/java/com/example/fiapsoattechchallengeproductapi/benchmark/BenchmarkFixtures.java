@@ -0,0 +1,45 @@
+package com.example.fiapsoattechchallengeproductapi.benchmark;
+
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductEntity;
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductImageEntity;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catalog shaped like production data: products spread over the four categories, a few images each, and images
+ * returned in id order the way {@code findByProductIdIn} reads them.
+ */
+final class BenchmarkFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 11, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<JpaProductEntity> products(int count) {
+        Category[] categories = Category.values();
+        List<JpaProductEntity> products = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            products.add(new JpaProductEntity(id, "Produto " + id, BigDecimal.valueOf(1000 + id, 2),
+                    "Descrição do produto " + id + " com ingredientes e observações do cardápio",
+                    categories[(int) (id % categories.length)].toString(), true, CREATED_AT, CREATED_AT.plusDays(id % 7)));
+        }
+        return products;
+    }
+
+    static List<JpaProductImageEntity> images(List<JpaProductEntity> products, int imagesPerProduct) {
+        List<JpaProductImageEntity> images = new ArrayList<>(products.size() * imagesPerProduct);
+        long imageId = 1;
+        for (JpaProductEntity product : products) {
+            for (int i = 0; i < imagesPerProduct; i++) {
+                images.add(new JpaProductImageEntity(imageId++, product.getId(),
+                        "https://cdn.example.com/products/" + product.getId() + "/" + i + ".jpg", CREATED_AT, null));
+            }
+        }
+        return images;
+    }
+}
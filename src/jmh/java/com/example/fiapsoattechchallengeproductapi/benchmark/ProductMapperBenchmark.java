@@ -0,0 +1,65 @@
+package com.example.fiapsoattechchallengeproductapi.benchmark;
+
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductEntity;
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductImageEntity;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.utils.mappers.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping cost of a category listing. Run with the gc profiler (configured in build.gradle) to get
+ * gc.alloc.rate.norm, the bytes allocated per operation, next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProductMapperBenchmark {
+
+    @Param({"20", "200", "2000"})
+    private int productCount;
+
+    @Param({"3"})
+    private int imagesPerProduct;
+
+    private ProductMapper mapper;
+    private List<JpaProductEntity> entities;
+    private List<JpaProductImageEntity> images;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        mapper = new ProductMapper();
+        entities = BenchmarkFixtures.products(productCount);
+        images = BenchmarkFixtures.images(entities, imagesPerProduct);
+        products = mapper.jpaToDomainList(entities, images);
+    }
+
+    @Benchmark
+    public List<Product> jpaToDomainList() {
+        return mapper.jpaToDomainList(entities, images);
+    }
+
+    @Benchmark
+    public List<ProductDTO> domainToDTOList() {
+        return mapper.domainToDTOList(products);
+    }
+
+    @Benchmark
+    public void jpaProductEntityConstruction(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(new JpaProductEntity(product));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.fiapsoattechchallengeproductapi.benchmark;
+
+import com.example.fiapsoattechchallengeproductapi.FiapSoatTechChallengeProductApiApplication;
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the read paths selected by {@code product.repository.read-mode} against a real database, configured by
+ * the usual {@code SPRING_DATASOURCE_*} variables. Each trial boots the application without the web server, seeds
+ * {@code productCount} products with {@code imagesPerProduct} images in {@link Category#SOBREMESA} and calls the
+ * repository directly, so the service caches are not involved. The seeded products are disabled at the end of the
+ * trial; active rows already in the category are read as well, so compare runs on the same database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductReadPathBenchmark {
+
+    @Param({"jpa", "jdbc-join", "read-model"})
+    private String readMode;
+
+    @Param({"50"})
+    private int productCount;
+
+    @Param({"3"})
+    private int imagesPerProduct;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository repository;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(FiapSoatTechChallengeProductApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--product.repository.read-mode=" + readMode,
+                        "--product.read-model.enabled=true",
+                        "--product.cache.notify.enabled=false");
+        repository = context.getBean(ProductRepository.class);
+
+        var productUseCase = context.getBean(ProductUseCase.class);
+        String run = UUID.randomUUID().toString();
+        ids = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            ids.add(productUseCase.createProduct(product("Benchmark " + run + " " + i)).getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        var productUseCase = context.getBean(ProductUseCase.class);
+        ids.forEach(productUseCase::disableProductById);
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> findProductByCategory() {
+        return repository.findProductByCategory(Category.SOBREMESA);
+    }
+
+    @Benchmark
+    public List<Product> findAllByIds() {
+        return repository.findAll(ids);
+    }
+
+    @Benchmark
+    public Product findById() {
+        return repository.findById(ids.get(0)).orElseThrow();
+    }
+
+    private ProductDTO product(String name) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setDescription(name + " Description");
+        product.setPrice(new BigDecimal("19.99"));
+        product.setCategory(Category.SOBREMESA);
+        product.setImages(IntStream.rangeClosed(1, imagesPerProduct)
+                .mapToObj(i -> new ProductImageDTO("http://example.com/benchmark-" + i + ".jpg"))
+                .toList());
+        return product;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.fiapsoattechchallengeproductapi.benchmark;
+
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.utils.mappers.ProductMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of a category listing response, with the ObjectMapper configured the way Spring Boot configures it
+ * (JavaTimeModule, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProductSerializationBenchmark {
+
+    @Param({"20", "200", "2000"})
+    private int productCount;
+
+    private ObjectMapper objectMapper;
+    private List<ProductDTO> products;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        var mapper = new ProductMapper();
+        var entities = BenchmarkFixtures.products(productCount);
+        products = mapper.domainToDTOList(mapper.jpaToDomainList(entities, BenchmarkFixtures.images(entities, 3)));
+    }
+
+    @Benchmark
+    public byte[] serializeProductList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.fiapsoattechchallengeproductapi.loadtest;
+
+/**
+ * The request mix. Weights are relative shares, mirroring production traffic: mostly menu (category) reads, then
+ * product lookups, with a small share of writes.
+ */
+enum Endpoint {
+    CATEGORY_READ(70),
+    ID_READ(22),
+    PATCH(5),
+    CREATE(3);
+
+    private final int weight;
+
+    Endpoint(int weight) {
+        this.weight = weight;
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    static Endpoint pick(int roll) {
+        int cumulative = 0;
+        for (Endpoint endpoint : values()) {
+            cumulative += endpoint.weight;
+            if (roll < cumulative) {
+                return endpoint;
+            }
+        }
+        return CATEGORY_READ;
+    }
+
+    static int totalWeight() {
+        int total = 0;
+        for (Endpoint endpoint : values()) {
+            total += endpoint.weight;
+        }
+        return total;
+    }
+}
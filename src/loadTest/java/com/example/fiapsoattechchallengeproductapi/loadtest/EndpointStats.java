@@ -0,0 +1,76 @@
+package com.example.fiapsoattechchallengeproductapi.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one endpoint, recorded in microseconds with three significant digits.
+ */
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long elapsedNanos, boolean success) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKABLE_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    long requests() {
+        return latencies.getTotalCount();
+    }
+
+    double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors.sum() / requests;
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    Map<String, Object> toReport(double durationSeconds) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", percentileMillis(50));
+        latency.put("p90", percentileMillis(90));
+        latency.put("p99", percentileMillis(99));
+        latency.put("p999", percentileMillis(99.9));
+        latency.put("max", latencies.getMaxValue() / 1000.0);
+
+        // Log-scale buckets from 0.25 ms upwards; each entry counts the requests up to that bound.
+        List<Map<String, Object>> histogram = new ArrayList<>();
+        for (HistogramIterationValue bucket : latencies.logarithmicBucketValues(250, 2.0)) {
+            if (bucket.getCountAddedInThisIterationStep() > 0) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("upToMs", bucket.getValueIteratedTo() / 1000.0);
+                entry.put("count", bucket.getCountAddedInThisIterationStep());
+                histogram.add(entry);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", requests());
+        report.put("errors", errors.sum());
+        report.put("errorRate", errorRate());
+        report.put("throughputPerSecond", requests() / durationSeconds);
+        report.put("latencyMs", latency);
+        report.put("histogram", histogram);
+        return report;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.fiapsoattechchallengeproductapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the product endpoints with an open-loop workload: requests are scheduled at a fixed rate whatever the
+ * server's response times, picking the endpoint by the weights in {@link Endpoint}. Latency is measured from the
+ * time a request was scheduled, not from when it was actually sent, so a slow server that delays the following
+ * requests is charged for that wait too instead of just receiving fewer requests (coordinated omission).
+ */
+final class LoadDriver {
+
+    private static final String[] CATEGORIES = {"LANCHE", "ACOMPANHAMENTO", "BEBIDA", "SOBREMESA"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<SeededProduct> products = new CopyOnWriteArrayList<>();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicLong sequence = new AtomicLong();
+
+    LoadDriver(HttpClient client, URI baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    void awaitReady(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                var response = client.send(get("/product?category=LANCHE"), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() < 500) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(1_000);
+        }
+        throw new IllegalStateException("Application at " + baseUrl + " did not become ready within " + timeout);
+    }
+
+    void seed(int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            String category = CATEGORIES[i % CATEGORIES.length];
+            var response = client.send(post(productBody(category)), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            JsonNode created = objectMapper.readTree(response.body());
+            products.add(new SeededProduct(created.get("id").asLong(), category));
+        }
+    }
+
+    /**
+     * Schedules {@code ratePerSecond} requests per second for {@code duration}, with at most {@code concurrency} in
+     * flight. A request that has to wait for a free slot is still timed from its scheduled send time, and every
+     * scheduled request is sent, so when the server falls behind the run lasts longer than {@code duration} and the
+     * throughput, taken over the actual elapsed time, drops below the offered rate.
+     */
+    Result run(int concurrency, double ratePerSecond, Duration duration) throws InterruptedException {
+        stats.values().forEach(EndpointStats::reset);
+        long intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        long requests = Math.max(1, duration.toNanos() / intervalNanos);
+        var inFlight = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long scheduledStart = start + i * intervalNanos;
+                sleepUntil(scheduledStart);
+                inFlight.acquire();
+                Endpoint endpoint = Endpoint.pick(ThreadLocalRandom.current().nextInt(Endpoint.totalWeight()));
+                executor.submit(() -> {
+                    try {
+                        execute(endpoint, scheduledStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new Result(stats, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private void execute(Endpoint endpoint, long scheduledStart) {
+        var random = ThreadLocalRandom.current();
+        SeededProduct product = products.get(random.nextInt(products.size()));
+        HttpRequest request = switch (endpoint) {
+            case CATEGORY_READ -> get("/product?category=" + CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            case ID_READ -> get("/product/" + product.id());
+            case PATCH -> HttpRequest.newBuilder(baseUrl.resolve("/product/" + product.id()))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(productBody(product.category())))
+                    .build();
+            case CREATE -> post(productBody(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        };
+
+        boolean success;
+        try {
+            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stats.get(endpoint).record(System.nanoTime() - scheduledStart, success);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String body) {
+        return HttpRequest.newBuilder(baseUrl.resolve("/product"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String productBody(String category) {
+        long n = sequence.incrementAndGet();
+        var random = ThreadLocalRandom.current();
+        List<Map<String, String>> images = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            images.add(Map.of("url", "https://cdn.example.com/loadtest/" + n + "/" + i + ".jpg"));
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "Produto carga " + n);
+        body.put("price", BigDecimal.valueOf(random.nextInt(500, 9_000), 2));
+        body.put("description", "Produto gerado pelo teste de carga");
+        body.put("category", category);
+        body.put("images", images);
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record SeededProduct(long id, String category) {
+    }
+
+    /**
+     * The stats of one run and how long it actually took, from the first scheduled request to the last response.
+     */
+    record Result(Map<Endpoint, EndpointStats> stats, double seconds) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.fiapsoattechchallengeproductapi.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Budgets read from a properties file. Keys are {@code <ENDPOINT>.<budget>}, with {@code default.<budget>} applying
+ * to endpoints that have no key of their own. Supported budgets: {@code p99-ms}, {@code p999-ms},
+ * {@code min-throughput} (requests per second) and {@code max-error-rate} (0..1).
+ */
+final class LoadTestBudgets {
+
+    static final String DEFAULT_RESOURCE = "loadtest-budgets.properties";
+
+    private final Properties budgets;
+
+    private LoadTestBudgets(Properties budgets) {
+        this.budgets = budgets;
+    }
+
+    static LoadTestBudgets load(String path) throws IOException {
+        Properties properties = new Properties();
+        if (path != null) {
+            try (InputStream in = Files.newInputStream(Path.of(path))) {
+                properties.load(in);
+            }
+        } else {
+            try (InputStream in = LoadTestBudgets.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (in == null) {
+                    throw new IOException("Budget file " + DEFAULT_RESOURCE + " not found on the classpath");
+                }
+                properties.load(in);
+            }
+        }
+        return new LoadTestBudgets(properties);
+    }
+
+    List<String> check(Map<Endpoint, EndpointStats> results, double durationSeconds) {
+        List<String> violations = new ArrayList<>();
+        results.forEach((endpoint, stats) -> {
+            if (stats.requests() == 0) {
+                violations.add(endpoint + ": no requests were completed");
+                return;
+            }
+            checkMax(violations, endpoint, "p99-ms", stats.percentileMillis(99));
+            checkMax(violations, endpoint, "p999-ms", stats.percentileMillis(99.9));
+            checkMax(violations, endpoint, "max-error-rate", stats.errorRate());
+            Double minThroughput = budget(endpoint, "min-throughput");
+            double throughput = stats.requests() / durationSeconds;
+            if (minThroughput != null && throughput < minThroughput) {
+                violations.add(String.format("%s: throughput %.1f req/s is below the budget of %.1f", endpoint, throughput, minThroughput));
+            }
+        });
+        return violations;
+    }
+
+    private void checkMax(List<String> violations, Endpoint endpoint, String name, double actual) {
+        Double limit = budget(endpoint, name);
+        if (limit != null && actual > limit) {
+            violations.add(String.format("%s: %s %.3f exceeds the budget of %.3f", endpoint, name, actual, limit));
+        }
+    }
+
+    private Double budget(Endpoint endpoint, String name) {
+        String value = budgets.getProperty(endpoint + "." + name, budgets.getProperty("default." + name));
+        return value == null ? null : Double.valueOf(value.trim());
+    }
+}
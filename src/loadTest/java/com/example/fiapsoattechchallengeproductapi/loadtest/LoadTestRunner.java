@@ -0,0 +1,191 @@
+package com.example.fiapsoattechchallengeproductapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of {@code ./gradlew loadTest}. Unless {@code loadtest.base-url} points at a running instance, it
+ * starts the boot jar on a free port against the database configured by the usual {@code SPRING_DATASOURCE_*}
+ * variables, seeds products, warms up, measures, writes {@code results.json} and fails when a budget is exceeded.
+ * The load is offered at {@code loadtest.rate} requests per second with at most {@code loadtest.concurrency} in
+ * flight; see {@link LoadDriver} for how latency is measured.
+ * <p>
+ * {@code loadtest.threads=platform} or {@code virtual} starts the jar with {@code spring.threads.virtual.enabled}
+ * set accordingly; {@code compare} runs the same profile once with each, writes {@code results-platform.json},
+ * {@code results-virtual.json} and {@code threads-comparison.json} with throughput and p99 side by side.
+ */
+public final class LoadTestRunner {
+
+    private static final String PLATFORM = "platform";
+    private static final String VIRTUAL = "virtual";
+    private static final String COMPARE = "compare";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 15));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60));
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "400"));
+        int seedProducts = Integer.getInteger("loadtest.seed-products", 200);
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+        Files.createDirectories(reportDir);
+
+        String baseUrl = System.getProperty("loadtest.base-url");
+        String threads = System.getProperty("loadtest.threads");
+        if (threads != null && !List.of(PLATFORM, VIRTUAL, COMPARE).contains(threads)) {
+            throw new IllegalArgumentException("loadtest.threads must be platform, virtual or compare: " + threads);
+        }
+        if (threads != null && baseUrl != null) {
+            throw new IllegalStateException("loadtest.threads starts its own instances; unset loadtest.base-url");
+        }
+        List<String> modes = threads == null ? List.of("") : COMPARE.equals(threads) ? List.of(PLATFORM, VIRTUAL) : List.of(threads);
+
+        LoadTestBudgets budgets = LoadTestBudgets.load(System.getProperty("loadtest.budgets"));
+        Map<String, LoadDriver.Result> resultsByMode = new LinkedHashMap<>();
+        List<String> violations = new ArrayList<>();
+        for (String mode : modes) {
+            String label = mode.isEmpty() ? "" : "[" + mode + " threads] ";
+            LoadDriver.Result result = measure(mode, baseUrl, reportDir, warmup, duration, concurrency, rate, seedProducts);
+            resultsByMode.put(mode, result);
+            Map<Endpoint, EndpointStats> results = result.stats();
+            double seconds = result.seconds();
+
+            Path report = reportDir.resolve(modes.size() == 1 ? "results.json" : "results-" + mode + ".json");
+            writeReport(report, results, seconds, concurrency, rate);
+            results.forEach((endpoint, stats) -> System.out.printf("%s%-14s %8d req %9.1f req/s  p50 %7.2f ms  p99 %7.2f ms  p999 %7.2f ms  errors %.4f%n",
+                    label, endpoint, stats.requests(), stats.requests() / seconds, stats.percentileMillis(50),
+                    stats.percentileMillis(99), stats.percentileMillis(99.9), stats.errorRate()));
+            System.out.println("Report written to " + report.toAbsolutePath());
+
+            budgets.check(results, seconds).forEach(violation -> violations.add(label + violation));
+        }
+        if (COMPARE.equals(threads)) {
+            Path comparison = reportDir.resolve("threads-comparison.json");
+            writeComparison(comparison, resultsByMode.get(PLATFORM), resultsByMode.get(VIRTUAL), concurrency, rate);
+            System.out.println("Comparison written to " + comparison.toAbsolutePath());
+        }
+        violations.forEach(violation -> System.err.println("Budget exceeded - " + violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    // An empty mode keeps the threading the jar is configured with.
+    private static LoadDriver.Result measure(String mode, String baseUrl, Path reportDir, Duration warmup, Duration duration,
+                                             int concurrency, double rate, int seedProducts) throws Exception {
+        Process application = null;
+        if (baseUrl == null) {
+            int port = freePort();
+            List<String> arguments = mode.isEmpty() ? List.of() : List.of("--spring.threads.virtual.enabled=" + VIRTUAL.equals(mode));
+            String log = mode.isEmpty() ? "application.log" : "application-" + mode + ".log";
+            application = startApplication(System.getProperty("loadtest.app-jar"), port, arguments, reportDir.resolve(log));
+            baseUrl = "http://localhost:" + port;
+        }
+        try {
+            var client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            var driver = new LoadDriver(client, URI.create(baseUrl));
+            driver.awaitReady(Duration.ofMinutes(2));
+            driver.seed(seedProducts);
+
+            System.out.printf("Warming up for %ds at %.0f req/s, at most %d in flight%n", warmup.toSeconds(), rate, concurrency);
+            driver.run(concurrency, rate, warmup);
+            System.out.printf("Measuring for %ds at %.0f req/s, at most %d in flight%n", duration.toSeconds(), rate, concurrency);
+            return driver.run(concurrency, rate, duration);
+        } finally {
+            if (application != null) {
+                application.destroy();
+                if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                    application.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private static Process startApplication(String appJar, int port, List<String> arguments, Path log) throws IOException {
+        if (appJar == null) {
+            throw new IllegalStateException("Set loadtest.app-jar or loadtest.base-url");
+        }
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(List.of(java, "-jar", appJar, "--server.port=" + port));
+        command.addAll(arguments);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void writeReport(Path path, Map<Endpoint, EndpointStats> results, double seconds, int concurrency,
+                                    double rate) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        results.forEach((endpoint, stats) -> endpoints.put(endpoint.name(), stats.toReport(seconds)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("durationSeconds", seconds);
+        report.put("offeredRatePerSecond", rate);
+        report.put("concurrency", concurrency);
+        report.put("endpoints", endpoints);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private static void writeComparison(Path path, LoadDriver.Result platform, LoadDriver.Result virtual,
+                                        int concurrency, double rate) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%-14s %14s %14s %8s %12s %12s %8s%n",
+                "", "platform req/s", "virtual req/s", "ratio", "platform p99", "virtual p99", "ratio");
+        platform.stats().forEach((endpoint, platformStats) -> {
+            EndpointStats virtualStats = virtual.stats().get(endpoint);
+            double platformThroughput = platformStats.requests() / platform.seconds();
+            double virtualThroughput = virtualStats.requests() / virtual.seconds();
+            double platformP99 = platformStats.percentileMillis(99);
+            double virtualP99 = virtualStats.percentileMillis(99);
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("platformThroughput", platformThroughput);
+            entry.put("virtualThroughput", virtualThroughput);
+            entry.put("throughputRatio", ratio(virtualThroughput, platformThroughput));
+            entry.put("platformP99", platformP99);
+            entry.put("virtualP99", virtualP99);
+            entry.put("p99Ratio", ratio(virtualP99, platformP99));
+            endpoints.put(endpoint.name(), entry);
+            System.out.printf("%-14s %14.1f %14.1f %8.2f %9.2f ms %9.2f ms %8.2f%n", endpoint, platformThroughput,
+                    virtualThroughput, ratio(virtualThroughput, platformThroughput), platformP99, virtualP99, ratio(virtualP99, platformP99));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("platformDurationSeconds", platform.seconds());
+        report.put("virtualDurationSeconds", virtual.seconds());
+        report.put("offeredRatePerSecond", rate);
+        report.put("concurrency", concurrency);
+        report.put("endpoints", endpoints);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private static double ratio(double value, double baseline) {
+        return baseline == 0 ? 0 : value / baseline;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.fiapsoattechchallengeproductapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of {@code ./gradlew startupBenchmark}. Starts the boot jar several times per launch mode against the
+ * database configured by the usual {@code SPRING_DATASOURCE_*} variables and measures the time from process start
+ * to the first successful category listing. The modes are the plain jar, the extracted jar with a CDS archive and,
+ * when the jar was built with {@code -Paot}, the same with Spring AOT enabled - the last one is what the container
+ * image runs.
+ */
+public final class StartupBenchmark {
+
+    // Same flags as the training run in the Dockerfile: the context refreshes without touching the database.
+    private static final List<String> TRAINING_ARGS = List.of(
+            "--spring.flyway.enabled=false",
+            "--spring.jpa.hibernate.ddl-auto=none",
+            "--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+            "--product.cache.notify.enabled=false"
+    );
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path appJar = Path.of(required("startup.app-jar"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        boolean aot = Boolean.getBoolean("startup.aot");
+        Path reportDir = Path.of(System.getProperty("startup.report-dir", "build/reports/startup"));
+        Files.createDirectories(reportDir);
+
+        Path extracted = reportDir.resolve("extracted");
+        Path extractedJar = extracted.resolve(appJar.getFileName());
+        Path archive = extracted.resolve("app.jsa");
+        prepareArchive(appJar, extracted, extractedJar, archive, reportDir.resolve("training.log"));
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jar", List.of("-jar", appJar.toString()));
+        modes.put("cds", List.of("-XX:SharedArchiveFile=" + archive, "-jar", extractedJar.toString()));
+        if (aot) {
+            modes.put("cds-aot", List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                    "-jar", extractedJar.toString()));
+        }
+
+        var client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (var mode : modes.entrySet()) {
+            List<Long> millis = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                Path log = reportDir.resolve(mode.getKey() + "-" + run + ".log");
+                millis.add(timeToFirstSuccessfulRequest(client, mode.getValue(), log));
+            }
+            results.put(mode.getKey(), summary(millis));
+            System.out.printf("%-8s runs %s ms  min %d ms  median %d ms%n",
+                    mode.getKey(), millis, min(millis), median(millis));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("runs", runs);
+        report.put("modes", results);
+        Path path = reportDir.resolve("results.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+
+    private static void prepareArchive(Path appJar, Path extracted, Path extractedJar, Path archive, Path log) throws IOException, InterruptedException {
+        run(List.of("-Djarmode=tools", "-jar", appJar.toString(), "extract", "--force", "--destination", extracted.toString()), log);
+
+        List<String> training = new ArrayList<>(List.of("-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh", "-jar", extractedJar.toString()));
+        training.addAll(TRAINING_ARGS);
+        run(training, log);
+    }
+
+    private static long timeToFirstSuccessfulRequest(HttpClient client, List<String> launch, Path log) throws IOException, InterruptedException {
+        int port = LoadTestRunner.freePort();
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/product?category=LANCHE"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        List<String> command = new ArrayList<>(launch);
+        command.add("--server.port=" + port);
+        long start = System.nanoTime();
+        Process application = start(command, log);
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!application.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + application.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException("No successful request within " + STARTUP_TIMEOUT + ", see " + log);
+        } finally {
+            application.destroy();
+            if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                application.destroyForcibly();
+            }
+        }
+    }
+
+    private static void run(List<String> arguments, Path log) throws IOException, InterruptedException {
+        Process process = start(arguments, log);
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Command " + arguments + " failed, see " + log);
+        }
+    }
+
+    private static Process start(List<String> arguments, Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(arguments);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                .start();
+    }
+
+    private static Map<String, Object> summary(List<Long> millis) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("millis", millis);
+        summary.put("minMillis", min(millis));
+        summary.put("medianMillis", median(millis));
+        return summary;
+    }
+
+    private static long min(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).min().orElse(0);
+    }
+
+    private static long median(List<Long> values) {
+        return values.stream().sorted().skip(values.size() / 2).findFirst().orElse(0L);
+    }
+
+    private static String required(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalStateException("Set " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.fiapsoattechchallengeproductapi;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Spring AOT evaluates bean conditions when the jar is built, so with {@code spring.aot.enabled=true} the properties
+ * below keep the beans chosen at build time whatever the environment says. {@link Recorder} stores the values seen
+ * by AOT processing in the jar, and startup fails when the runtime environment asks for something else instead of
+ * silently running with the build-time beans.
+ */
+@Component
+public class AotBuildConditions {
+
+    static final List<String> PROPERTIES = List.of(
+            "product.cache.notify.enabled",
+            "product.datasource.replica.enabled",
+            "spring.threads.virtual.enabled");
+    static final String RESOURCE = "META-INF/product-api/aot-build-conditions.properties";
+
+    public AotBuildConditions(Environment environment) throws IOException {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        var resource = new ClassPathResource(RESOURCE);
+        if (!resource.exists()) {
+            throw new IllegalStateException(
+                    "Running with spring.aot.enabled=true but " + RESOURCE + " is missing; rebuild with -Paot");
+        }
+        var mismatches = mismatches(PropertiesLoaderUtils.loadProperties(resource), environment);
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("These properties are fixed by the AOT build and cannot change at runtime: "
+                    + String.join(", ", mismatches) + ". Rebuild the image or run without AOT");
+        }
+    }
+
+    static List<String> mismatches(Properties buildTime, PropertyResolver runtime) {
+        return PROPERTIES.stream()
+                .filter(name -> enabled(buildTime.getProperty(name)) != enabled(runtime.getProperty(name)))
+                .map(name -> name + "=" + runtime.getProperty(name)
+                        + " (built with " + buildTime.getProperty(name) + ")")
+                .toList();
+    }
+
+    // The conditions behind these properties compare with "true" ignoring case; anything else, missing included, is
+    // off.
+    private static boolean enabled(String value) {
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Registered in {@code META-INF/spring/aot.factories}, so it only runs during AOT processing.
+     */
+    public static class Recorder implements BeanFactoryInitializationAotProcessor {
+
+        @Override
+        public BeanFactoryInitializationAotContribution processAheadOfTime(
+                ConfigurableListableBeanFactory beanFactory) {
+            var environment = beanFactory.getBean(Environment.class);
+            var content = new StringBuilder();
+            PROPERTIES.forEach(name ->
+                    content.append(name).append('=').append(environment.getProperty(name, "")).append('\n'));
+            return (generationContext, code) ->
+                    generationContext.getGeneratedFiles().addResourceFile(RESOURCE, content);
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package com.example.fiapsoattechchallengeproductapi;
 
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class FiapSoatTechChallengeProductApiApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(FiapSoatTechChallengeProductApiApplication.class, args);
     }
 
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
 }
@@ -0,0 +1,136 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.inbound;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized JSON (and optionally a gzipped copy) of each category listing. An entry is
+ * only served while it was built from the category's current {@link ProductVersion}, so it is
+ * rebuilt exactly when the category changes.
+ */
+@Component
+public class CategoryResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean gzipEnabled;
+    private final Map<Category, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    public CategoryResponseCache(ObjectMapper objectMapper,
+                                 @Value("${product.response-cache.enabled:false}") boolean enabled,
+                                 @Value("${product.response-cache.gzip:true}") boolean gzipEnabled) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzipEnabled = gzipEnabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header admits gzip: its own q-value when listed (also as {@code x-gzip}),
+     * otherwise the one of {@code *}. {@code gzip;q=0} refuses it, and so does a header that names neither.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality(parts);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality(parts);
+            }
+        }
+        double quality = gzipQuality != null ? gzipQuality : wildcardQuality != null ? wildcardQuality : 0;
+        return quality > 0;
+    }
+
+    // A malformed q-value is read as 0, so the identity body is sent rather than a compressed one the client may not want.
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    public CachedResponse get(Category category, ProductVersion version, Supplier<List<ProductDTO>> loader) {
+        CachedResponse cached = responses.get(category);
+        if (cached != null && cached.getETag().equals(version.getETag())) {
+            return cached;
+        }
+
+        byte[] json = serialize(loader.get());
+        CachedResponse response = new CachedResponse(version.getETag(), json, gzipEnabled ? gzip(json) : null);
+        responses.put(category, response);
+        return response;
+    }
+
+    private byte[] serialize(List<ProductDTO> products) {
+        try {
+            return objectMapper.writeValueAsBytes(products);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] gzip(byte[] json) {
+        var output = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (var gzip = new GZIPOutputStream(output)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    public static class CachedResponse {
+        private final String eTag;
+        private final byte[] json;
+        private final byte[] gzippedJson;
+
+        public CachedResponse(String eTag, byte[] json, byte[] gzippedJson) {
+            this.eTag = eTag;
+            this.json = json;
+            this.gzippedJson = gzippedJson;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzippedJson() {
+            return gzippedJson;
+        }
+    }
+}
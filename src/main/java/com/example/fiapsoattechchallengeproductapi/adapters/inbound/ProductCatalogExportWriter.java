@@ -0,0 +1,79 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.inbound;
+
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import com.example.fiapsoattechchallengeproductapi.utils.CsvUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogExportWriter {
+
+    static final String CSV_HEADER = "id,name,price,description,category,active,createdAt,updatedAt,images";
+    static final String CSV_IMAGE_SEPARATOR = "|";
+
+    private final ProductUseCase productUseCase;
+    private final ObjectMapper objectMapper;
+
+    public void write(CatalogFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            if (format == CatalogFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                productUseCase.exportCatalog(product -> writeLine(writer, toCsv(product)));
+            } else {
+                productUseCase.exportCatalog(product -> writeLine(writer, toJson(product)));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(ProductDTO product) {
+        try {
+            return objectMapper.writeValueAsString(product);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsv(ProductDTO product) {
+        String images = product.getImages() == null ? "" : product.getImages().stream()
+                .map(ProductImageDTO::getUrl)
+                .collect(Collectors.joining(CSV_IMAGE_SEPARATOR));
+
+        return String.join(",",
+                CsvUtils.escape(product.getId()),
+                CsvUtils.escape(product.getName()),
+                CsvUtils.escape(product.getPrice()),
+                CsvUtils.escape(product.getDescription()),
+                CsvUtils.escape(product.getCategory()),
+                CsvUtils.escape(product.getActive()),
+                CsvUtils.escape(product.getCreatedAt()),
+                CsvUtils.escape(product.getUpdatedAt()),
+                CsvUtils.escape(images));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.inbound;
+
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import com.example.fiapsoattechchallengeproductapi.exceptions.InvalidProductRequestException;
+import com.example.fiapsoattechchallengeproductapi.utils.CsvUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Parses an import upload in the same layouts the export endpoint produces. Ids and timestamps in the
+ * input are ignored; the import always creates new products. The upload is rejected as soon as it goes past
+ * {@link ProductUseCase#MAX_IMPORT_SIZE} products or {@link #MAX_IMPORT_BYTES}, so an oversized body is never
+ * held in memory as a whole.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogImportReader {
+
+    static final long MAX_IMPORT_BYTES = 32L * 1024 * 1024;
+
+    private static final Pattern CSV_IMAGE_SEPARATOR = Pattern.compile(Pattern.quote(ProductCatalogExportWriter.CSV_IMAGE_SEPARATOR));
+
+    private final ObjectMapper objectMapper;
+
+    public List<ProductDTO> read(CatalogFormat format, InputStream inputStream) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(new BoundedInputStream(inputStream), StandardCharsets.UTF_8));
+        return format == CatalogFormat.CSV ? readCsv(reader) : readNdjson(reader);
+    }
+
+    private List<ProductDTO> readNdjson(BufferedReader reader) throws IOException {
+        List<ProductDTO> products = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            checkSize(products);
+            try {
+                products.add(objectMapper.readValue(line, ProductDTO.class));
+            } catch (JsonProcessingException e) {
+                throw new InvalidProductRequestException("JSON inválido na linha " + lineNumber);
+            }
+        }
+        return products;
+    }
+
+    private List<ProductDTO> readCsv(BufferedReader reader) throws IOException {
+        List<String> header = CsvUtils.readRecord(reader);
+        if (header == null) {
+            return List.of();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String required : List.of("name", "price", "category")) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidProductRequestException("Coluna obrigatória ausente no CSV: " + required);
+            }
+        }
+
+        List<ProductDTO> products = new ArrayList<>();
+        int recordNumber = 1;
+        for (List<String> record = CsvUtils.readRecord(reader); record != null; record = CsvUtils.readRecord(reader)) {
+            recordNumber++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            checkSize(products);
+            try {
+                products.add(toProduct(columns, record));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidProductRequestException("Registro CSV inválido na linha " + recordNumber);
+            }
+        }
+        return products;
+    }
+
+    private static void checkSize(List<ProductDTO> products) {
+        if (products.size() == ProductUseCase.MAX_IMPORT_SIZE) {
+            throw new InvalidProductRequestException("É permitido importar no máximo " + ProductUseCase.MAX_IMPORT_SIZE + " produtos por requisição");
+        }
+    }
+
+    private ProductDTO toProduct(Map<String, Integer> columns, List<String> record) {
+        ProductDTO product = new ProductDTO();
+        product.setName(value(columns, record, "name"));
+        product.setDescription(value(columns, record, "description"));
+
+        String price = value(columns, record, "price");
+        product.setPrice(price == null ? null : new BigDecimal(price));
+
+        String category = value(columns, record, "category");
+        product.setCategory(category == null ? null : Category.valueOf(category));
+
+        String active = value(columns, record, "active");
+        product.setActive(active == null ? null : Boolean.valueOf(active));
+
+        String images = value(columns, record, "images");
+        product.setImages(images == null ? List.of() : Arrays.stream(CSV_IMAGE_SEPARATOR.split(images))
+                .filter(url -> !url.isBlank())
+                .map(ProductImageDTO::new)
+                .toList());
+        return product;
+    }
+
+    private String value(Map<String, Integer> columns, List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining = MAX_IMPORT_BYTES;
+
+        BoundedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consumed(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                consumed(read);
+            }
+            return read;
+        }
+
+        private void consumed(int bytes) {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new InvalidProductRequestException("O arquivo de importação excede " + MAX_IMPORT_BYTES + " bytes");
+            }
+        }
+    }
+}
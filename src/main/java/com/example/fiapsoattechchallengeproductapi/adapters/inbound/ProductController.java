@@ -2,13 +2,33 @@ package com.example.fiapsoattechchallengeproductapi.adapters.inbound;
 
 import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
 import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductBatchRequestDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductBatchResponseDTO;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductField;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImportResultDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductMenuDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductPageDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSuggestionDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
+import com.example.fiapsoattechchallengeproductapi.exceptions.InvalidProductRequestException;
 import com.example.fiapsoattechchallengeproductapi.exceptions.ProductNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
@@ -16,6 +36,9 @@ import java.util.List;
 public class ProductController {
 
     private final ProductUseCase productUseCase;
+    private final CategoryResponseCache categoryResponseCache;
+    private final ProductCatalogExportWriter productCatalogExportWriter;
+    private final ProductCatalogImportReader productCatalogImportReader;
 
     @PostMapping()
     public  ResponseEntity<ProductDTO> createProduct(@RequestBody ProductDTO productDTO) {
@@ -28,8 +51,12 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> findProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductDTO> findProductById(@PathVariable Long id, WebRequest request) {
         try{
+            ProductVersion version = productUseCase.findProductVersionById(id);
+            if (request.checkNotModified(version.getETag(), version.getLastModifiedEpochMillis())) {
+                return null;
+            }
             ProductDTO product = productUseCase.findProductById(id);
             return ResponseEntity.ok(product);
         } catch (ProductNotFoundException e) {
@@ -37,9 +64,38 @@ public class ProductController {
         }
     }
 
+    // The handlers with params = "fields" serve sparse fieldsets: only the listed attributes are read from the
+    // database and written to the response, and product_image is not queried unless images is one of them.
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> findProductFieldsById(@PathVariable Long id, @RequestParam String fields,
+                                                                     WebRequest request) {
+        try {
+            Set<ProductField> selected = ProductField.parse(fields);
+            ProductVersion version = productUseCase.findProductVersionById(id);
+            if (request.checkNotModified(version.getETag(), version.getLastModifiedEpochMillis())) {
+                return null;
+            }
+            return ResponseEntity.ok(select(productUseCase.findProductById(id, selected), selected));
+        } catch (InvalidProductRequestException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ProductNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping()
-    public ResponseEntity<List<ProductDTO>> findProductByCategory(@RequestParam Category category) {
+    public ResponseEntity<List<ProductDTO>> findProductByCategory(@RequestParam Category category, WebRequest request,
+                                                                  HttpServletResponse response) throws IOException {
         try{
+            ProductVersion version = productUseCase.findCategoryVersion(category);
+            if (request.checkNotModified(version.getETag(), version.getLastModifiedEpochMillis())) {
+                return null;
+            }
+            if (categoryResponseCache.isEnabled()) {
+                var cached = categoryResponseCache.get(category, version, () -> productUseCase.findProductByCategory(category));
+                writeCachedResponse(cached, request.getHeader(HttpHeaders.ACCEPT_ENCODING), response);
+                return null;
+            }
             List<ProductDTO> products = productUseCase.findProductByCategory(category);
             return ResponseEntity.ok(products);
         } catch (ProductNotFoundException e) {
@@ -47,6 +103,122 @@ public class ProductController {
         }
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> findProductFieldsByCategory(@RequestParam Category category,
+                                                                                @RequestParam String fields,
+                                                                                WebRequest request) {
+        try {
+            Set<ProductField> selected = ProductField.parse(fields);
+            ProductVersion version = productUseCase.findCategoryVersion(category);
+            if (request.checkNotModified(version.getETag(), version.getLastModifiedEpochMillis())) {
+                return null;
+            }
+            return ResponseEntity.ok(select(productUseCase.findProductByCategory(category, selected), selected));
+        } catch (InvalidProductRequestException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ProductPageDTO> findProductPageByCategory(@RequestParam Category category,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer limit) {
+        try {
+            ProductPageDTO page = productUseCase.findProductPageByCategory(category, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (InvalidProductRequestException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/page", params = "fields")
+    public ResponseEntity<Map<String, Object>> findProductFieldsPageByCategory(@RequestParam Category category,
+                                                                               @RequestParam(required = false) String cursor,
+                                                                               @RequestParam(required = false) Integer limit,
+                                                                               @RequestParam String fields) {
+        try {
+            Set<ProductField> selected = ProductField.parse(fields);
+            ProductPageDTO page = productUseCase.findProductPageByCategory(category, cursor, limit, selected);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("items", select(page.getItems(), selected));
+            body.put("next", page.getNext());
+            return ResponseEntity.ok(body);
+        } catch (InvalidProductRequestException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductDTO>> searchProducts(@RequestParam String q,
+                                                           @RequestParam(required = false) Category category,
+                                                           @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(productUseCase.searchProducts(q, category, limit));
+        } catch (InvalidProductRequestException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/menu")
+    public ResponseEntity<ProductMenuDTO> findMenu() {
+        return ResponseEntity.ok(productUseCase.findMenu());
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(@RequestParam String prefix,
+                                                                      @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(productUseCase.suggestProducts(prefix, limit));
+        } catch (InvalidProductRequestException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(@RequestParam(defaultValue = "NDJSON") CatalogFormat format) {
+        StreamingResponseBody body = outputStream -> productCatalogExportWriter.write(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format.getExtension() + "\"")
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<ProductImportResultDTO> importCatalog(@RequestParam(defaultValue = "NDJSON") CatalogFormat format,
+                                                                InputStream body) throws IOException {
+        try {
+            List<ProductDTO> products = productCatalogImportReader.read(format, body);
+            return ResponseEntity.ok(productUseCase.importCatalog(products));
+        } catch (InvalidProductRequestException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatchResponseDTO> findProductsByIds(@RequestBody ProductBatchRequestDTO request) {
+        try {
+            ProductBatchResponseDTO products = productUseCase.findProductsByIds(request.getIds());
+            return ResponseEntity.ok(products);
+        } catch (InvalidProductRequestException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(value = "/batch", params = "fields")
+    public ResponseEntity<Map<String, Object>> findProductFieldsByIds(@RequestBody ProductBatchRequestDTO request,
+                                                                      @RequestParam String fields) {
+        try {
+            Set<ProductField> selected = ProductField.parse(fields);
+            ProductBatchResponseDTO batch = productUseCase.findProductsByIds(request.getIds(), selected);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("products", select(batch.getProducts(), selected));
+            body.put("missingIds", batch.getMissingIds());
+            return ResponseEntity.ok(body);
+        } catch (InvalidProductRequestException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PatchMapping("/{id}")
     public ProductDTO updateProduct(@PathVariable Long id, @RequestBody ProductDTO productDTO) {
         return productUseCase.updateProduct(id, productDTO);
@@ -61,4 +233,30 @@ public class ProductController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    private static List<Map<String, Object>> select(List<ProductDTO> products, Set<ProductField> fields) {
+        return products.stream().map(product -> select(product, fields)).toList();
+    }
+
+    private static Map<String, Object> select(ProductDTO product, Set<ProductField> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            selected.put(field.getFieldName(), field.read(product));
+        }
+        return selected;
+    }
+
+    private void writeCachedResponse(CategoryResponseCache.CachedResponse cached, String acceptEncoding,
+                                     HttpServletResponse response) throws IOException {
+        byte[] body = cached.getJson();
+        if (cached.getGzippedJson() != null && CategoryResponseCache.acceptsGzip(acceptEncoding)) {
+            body = cached.getGzippedJson();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
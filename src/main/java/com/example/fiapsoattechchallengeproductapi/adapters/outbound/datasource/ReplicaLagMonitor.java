@@ -0,0 +1,82 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.datasource;
+
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Decides whether read-only transactions may go to the replica. The replica is skipped while its replay lag is above
+ * {@code max-lag}, while it cannot be reached, and for {@code max-lag} after any product change, so a read that
+ * follows a write (and may end up cached) never sees the replica's older state.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // An idle primary makes pg_last_xact_replay_timestamp() look old, so a fully replayed standby counts as no lag.
+    static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final boolean fallbackToPrimary;
+    private final Clock clock;
+
+    private volatile boolean replicaHealthy;
+    private volatile Instant lastChangeAt = Instant.EPOCH;
+
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, Duration maxLag, boolean fallbackToPrimary, Clock clock) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLag = maxLag;
+        this.fallbackToPrimary = fallbackToPrimary;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${product.datasource.replica.lag-check-interval:5s}")
+    public void checkReplica() {
+        boolean healthy;
+        try {
+            Double lagMillis = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            healthy = lagMillis != null && lagMillis <= maxLag.toMillis();
+            if (!healthy && replicaHealthy) {
+                log.warn("Replica lag of {} ms exceeds {}, routing reads to the primary", lagMillis, maxLag);
+            }
+        } catch (DataAccessException e) {
+            healthy = false;
+            if (replicaHealthy) {
+                log.warn("Replica unreachable, routing reads to the primary: {}", e.getMessage());
+            }
+        }
+        if (healthy && !replicaHealthy) {
+            log.info("Replica caught up, routing reads to the replica");
+        }
+        replicaHealthy = healthy;
+    }
+
+    // Runs before every other listener of the event: those that re-read the changed products (the in-memory views,
+    // caches refilled right after an eviction) must already see the replica as unusable and read from the primary.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        lastChangeAt = clock.instant();
+    }
+
+    public boolean isReplicaUsable() {
+        if (!fallbackToPrimary) {
+            return true;
+        }
+        return replicaHealthy && Duration.between(lastChangeAt, clock.instant()).compareTo(maxLag) >= 0;
+    }
+}
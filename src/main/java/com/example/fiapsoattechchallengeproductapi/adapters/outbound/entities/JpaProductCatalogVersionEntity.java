@@ -0,0 +1,21 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps {@code product_catalog_version} (V7) so the schema is validated against it and created for H2 tests. The
+ * counter itself is only read and incremented in SQL, by {@code ProductCatalogVersionCounter}.
+ */
+@Table(name = "product_catalog_version")
+@Entity
+@Getter
+@NoArgsConstructor
+public class JpaProductCatalogVersionEntity {
+    @Id
+    private Short id;
+    private Long version;
+}
@@ -10,14 +10,17 @@ import lombok.Setter;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-@Table(name = "product")
+@Table(name = "product", indexes = @Index(name = "idx_product_category_active_id", columnList = "category, active, id"))
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@SequenceGenerator(name = "product_seq_gen", sequenceName = "product_id_seq", allocationSize = 1)
+@SequenceGenerator(name = "product_seq_gen", sequenceName = "product_id_seq", allocationSize = JpaProductEntity.ID_ALLOCATION_SIZE)
 public class JpaProductEntity {
+    // Must match the INCREMENT of product_id_seq and product_image_id_seq (see V3__pooled_id_sequences.sql).
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_gen")
     private Long id;
@@ -8,13 +8,13 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 
-@Table(name = "product_image")
+@Table(name = "product_image", indexes = @Index(name = "idx_product_image_product_id", columnList = "product_id, id"))
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@SequenceGenerator(name = "product_image_seq_gen", sequenceName = "product_image_id_seq", allocationSize = 1)
+@SequenceGenerator(name = "product_image_seq_gen", sequenceName = "product_image_id_seq", allocationSize = JpaProductEntity.ID_ALLOCATION_SIZE)
 public class JpaProductImageEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_image_seq_gen")
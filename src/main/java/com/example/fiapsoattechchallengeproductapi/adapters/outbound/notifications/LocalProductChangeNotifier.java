@@ -0,0 +1,20 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications;
+
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "product.cache.notify.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalProductChangeNotifier implements ProductChangeNotifier {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void notifyChange(ProductChangedEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications;
+
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens for {@code product_changed} notifications on a dedicated connection (outside the Hikari pool)
+ * and republishes them as local {@link ProductChangedEvent}s, including the ones sent by this replica.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "product.cache.notify.enabled", havingValue = "true")
+public class PostgresProductChangeListener implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MILLIS = 5_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("product-change-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = openConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + ProductChangePayload.CHANNEL);
+                }
+                if (reconnecting) {
+                    // Notifications sent while disconnected are lost, so nothing cached can be trusted.
+                    eventPublisher.publishEvent(ProductChangedEvent.everything());
+                }
+                pollNotifications(connection.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                log.warn("Product change listener disconnected, retrying in {} ms: {}", RECONNECT_DELAY_MILLIS, e.getMessage());
+            }
+            reconnecting = true;
+            sleepBeforeReconnect();
+        }
+    }
+
+    private void pollNotifications(PGConnection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                publish(notification.getParameter());
+            }
+        }
+    }
+
+    private void publish(String payload) {
+        try {
+            eventPublisher.publishEvent(ProductChangePayload.decode(payload));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed product change notification '{}'", payload, e);
+            eventPublisher.publishEvent(ProductChangedEvent.everything());
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+        );
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications;
+
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes changes with pg_notify. Postgres only delivers the notification when the surrounding
+ * transaction commits, so replicas never evict ahead of the write becoming visible.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "product.cache.notify.enabled", havingValue = "true")
+public class PostgresProductChangeNotifier implements ProductChangeNotifier {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void notifyChange(ProductChangedEvent event) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, ProductChangePayload.CHANNEL, ProductChangePayload.encode(event));
+    }
+}
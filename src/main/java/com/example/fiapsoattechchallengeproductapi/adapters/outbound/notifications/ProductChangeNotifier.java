@@ -0,0 +1,8 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications;
+
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+
+public interface ProductChangeNotifier {
+
+    void notifyChange(ProductChangedEvent event);
+}
@@ -0,0 +1,52 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes a {@link ProductChangedEvent} as {@code <productId>:<CATEGORY>,<CATEGORY>:<catalogVersion>}; an empty id
+ * means every product and an empty or missing version means it is unknown.
+ */
+final class ProductChangePayload {
+
+    static final String CHANNEL = "product_changed";
+
+    private ProductChangePayload() {
+    }
+
+    static String encode(ProductChangedEvent event) {
+        String productId = event.affectsAllProducts() ? "" : event.getProductId().toString();
+        String categories = event.getCategories().stream()
+                .map(Category::name)
+                .collect(Collectors.joining(","));
+        String catalogVersion = event.getCatalogVersion() == null ? "" : event.getCatalogVersion().toString();
+        return productId + ":" + categories + ":" + catalogVersion;
+    }
+
+    static ProductChangedEvent decode(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            return ProductChangedEvent.everything();
+        }
+
+        String productId = payload.substring(0, separator);
+        String rest = payload.substring(separator + 1);
+        int versionSeparator = rest.indexOf(':');
+        String categories = versionSeparator < 0 ? rest : rest.substring(0, versionSeparator);
+        String catalogVersion = versionSeparator < 0 ? "" : rest.substring(versionSeparator + 1);
+
+        Set<Category> parsedCategories = EnumSet.noneOf(Category.class);
+        if (!categories.isEmpty()) {
+            Arrays.stream(categories.split(","))
+                    .map(Category::valueOf)
+                    .forEach(parsedCategories::add);
+        }
+        return new ProductChangedEvent(productId.isEmpty() ? null : Long.valueOf(productId), parsedCategories,
+                catalogVersion.isEmpty() ? null : Long.valueOf(catalogVersion));
+    }
+}
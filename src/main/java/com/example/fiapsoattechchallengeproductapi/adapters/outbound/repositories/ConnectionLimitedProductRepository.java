@@ -0,0 +1,96 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductField;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Passes every repository call through {@link ConnectionLimiter} when request handlers run on virtual threads:
+ * the read-only methods as reads, {@code save}, {@code updateProduct} and {@code deleteById} as writes.
+ */
+@Primary
+@Repository
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionLimitedProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final ConnectionLimiter limiter;
+
+    public ConnectionLimitedProductRepository(ProductRepositoryImpl delegate, ConnectionLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return limiter.write(() -> delegate.save(product));
+    }
+
+    @Override
+    public List<Product> findAll(List<Long> ids) {
+        return limiter.read(() -> delegate.findAll(ids));
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return limiter.read(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Product> findProductByCategory(Category category) {
+        return limiter.read(() -> delegate.findProductByCategory(category));
+    }
+
+    @Override
+    public List<Product> findProductPageByCategory(Category category, Long afterId, int limit) {
+        return limiter.read(() -> delegate.findProductPageByCategory(category, afterId, limit));
+    }
+
+    @Override
+    public List<Product> findAll(List<Long> ids, Set<ProductField> fields) {
+        return limiter.read(() -> delegate.findAll(ids, fields));
+    }
+
+    @Override
+    public List<Product> findProductByCategory(Category category, Set<ProductField> fields) {
+        return limiter.read(() -> delegate.findProductByCategory(category, fields));
+    }
+
+    @Override
+    public List<Product> findProductPageByCategory(Category category, Long afterId, int limit, Set<ProductField> fields) {
+        return limiter.read(() -> delegate.findProductPageByCategory(category, afterId, limit, fields));
+    }
+
+    @Override
+    public ProductVersion findVersionById(Long id) {
+        return limiter.read(() -> delegate.findVersionById(id));
+    }
+
+    @Override
+    public ProductVersion findVersionByCategory(Category category) {
+        return limiter.read(() -> delegate.findVersionByCategory(category));
+    }
+
+    @Override
+    public Product updateProduct(Long id, Product product) {
+        return limiter.write(() -> delegate.updateProduct(id, product));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        limiter.write(() -> {
+            delegate.deleteById(id);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSearchRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Passes searches through {@link ConnectionLimiter} as reads when request handlers run on virtual threads. The gate
+ * sits outside the delegate's read-only transaction, which would otherwise make the limiter skip it.
+ */
+@Primary
+@Repository
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionLimitedProductSearchRepository implements ProductSearchRepository {
+
+    private final ProductSearchRepository delegate;
+    private final ConnectionLimiter limiter;
+
+    public ConnectionLimitedProductSearchRepository(PostgresProductSearchRepository delegate,
+                                                    ConnectionLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public List<Product> search(String query, Category category, int limit) {
+        return limiter.read(() -> delegate.search(query, category, limit));
+    }
+}
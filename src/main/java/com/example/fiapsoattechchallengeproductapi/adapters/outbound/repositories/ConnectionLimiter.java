@@ -0,0 +1,86 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.datasource.ReplicaLagMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * With virtual threads there is no Tomcat worker limit in front of the database anymore, so thousands of requests
+ * can pile up inside Hikari's getConnection. This gate admits at most as many calls per pool as the pool has
+ * connections and lets the rest park cheaply on a semaphore. Writes always take a primary permit; reads take a
+ * replica permit while {@link ReplicaLagMonitor} routes read-only transactions to the replica, and a primary permit
+ * otherwise, so each semaphore matches the pool the connection will actually come from. Calls made inside an open
+ * transaction already own a connection and skip the gate, otherwise they could wait for a permit held by a thread
+ * waiting for their connection.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionLimiter {
+
+    private final Semaphore primaryPermits;
+    private final Semaphore replicaPermits;
+    private final ReplicaLagMonitor lagMonitor;
+    private final long acquireTimeoutMillis;
+
+    /**
+     * @param lagMonitor null when there is no replica; every call then takes a primary permit
+     */
+    public ConnectionLimiter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int primaryPoolSize,
+                             @Value("${product.datasource.replica.maximum-pool-size:10}") int replicaPoolSize,
+                             @Nullable ReplicaLagMonitor lagMonitor,
+                             @Value("${spring.datasource.hikari.connection-timeout:30000}") long acquireTimeoutMillis) {
+        this.primaryPermits = new Semaphore(primaryPoolSize, true);
+        this.replicaPermits = new Semaphore(replicaPoolSize, true);
+        this.lagMonitor = lagMonitor;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    public <T> T read(Supplier<T> call) {
+        return limited(lagMonitor != null && lagMonitor.isReplicaUsable() ? replicaPermits : primaryPermits, call);
+    }
+
+    public <T> T write(Supplier<T> call) {
+        return limited(primaryPermits, call);
+    }
+
+    int availablePrimaryPermits() {
+        return primaryPermits.availablePermits();
+    }
+
+    int availableReplicaPermits() {
+        return replicaPermits.availablePermits();
+    }
+
+    private <T> T limited(Semaphore permits, Supplier<T> call) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return call.get();
+        }
+        acquire(permits);
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire(Semaphore permits) {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new TransientDataAccessResourceException(
+                        "Nenhuma conexão disponível após " + acquireTimeoutMillis + " ms aguardando o limite do pool");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientDataAccessResourceException("Interrompido aguardando uma conexão com o banco", e);
+        }
+    }
+}
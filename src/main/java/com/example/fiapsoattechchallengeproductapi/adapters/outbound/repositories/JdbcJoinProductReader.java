@@ -0,0 +1,83 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads products and their images with one {@code product LEFT JOIN product_image} query per call and assembles them
+ * row by row, without a persistence context, dirty checking or {@code JpaProductEntity} instances. Selected with
+ * {@code product.repository.read-mode=jdbc-join}.
+ */
+@Component
+class JdbcJoinProductReader implements ProductReader {
+
+    static final String READ_MODE = "jdbc-join";
+
+    private static final String COLUMNS = "p.id, p.name, p.price, p.description, p.category, p.active, p.created_at, p.updated_at, i.url";
+    private static final String JOIN = " LEFT JOIN product_image i ON i.product_id = p.id ";
+    private static final String FIND_BY_ID = "SELECT " + COLUMNS + " FROM product p" + JOIN
+            + "WHERE p.id = :id ORDER BY i.id";
+    private static final String FIND_BY_IDS = "SELECT " + COLUMNS + " FROM product p" + JOIN
+            + "WHERE p.id IN (:ids) ORDER BY p.id, i.id";
+    private static final String FIND_BY_CATEGORY = "SELECT " + COLUMNS + " FROM product p" + JOIN
+            + "WHERE p.category = :category AND p.active = true ORDER BY p.id, i.id";
+    // The limit applies to products, not to joined rows, so the page is cut before the join.
+    private static final String FIND_PAGE_BY_CATEGORY = "SELECT " + COLUMNS
+            + " FROM (SELECT id, name, price, description, category, active, created_at, updated_at FROM product"
+            + " WHERE category = :category AND active = true AND id > :afterId ORDER BY id LIMIT :limit) p" + JOIN
+            + "ORDER BY p.id, i.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean servesReads;
+
+    JdbcJoinProductReader(NamedParameterJdbcTemplate jdbcTemplate,
+                          @Value("${product.repository.read-mode:jpa}") String readMode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.servesReads = READ_MODE.equals(readMode);
+    }
+
+    @Override
+    public boolean servesReads() {
+        return servesReads;
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return query(FIND_BY_ID, Map.of("id", id)).stream().findFirst();
+    }
+
+    @Override
+    public List<Product> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return query(FIND_BY_IDS, Map.of("ids", ids));
+    }
+
+    @Override
+    public List<Product> findActiveByCategory(Category category) {
+        return query(FIND_BY_CATEGORY, Map.of("category", category.toString()));
+    }
+
+    @Override
+    public List<Product> findActivePageByCategory(Category category, Long afterId, int limit) {
+        return query(FIND_PAGE_BY_CATEGORY, Map.of("category", category.toString(), "afterId", afterId, "limit", limit));
+    }
+
+    private List<Product> query(String sql, Map<String, ?> parameters) {
+        List<Product> products = new ArrayList<>();
+        var handler = new ProductJoinRowCallbackHandler(products::add);
+        jdbcTemplate.query(sql, parameters, handler);
+        handler.flush();
+        return products;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductExportRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+/**
+ * Streams the whole catalog through a forward-only cursor. Rows arrive ordered by product, so only the
+ * product currently being assembled is held in memory.
+ */
+@Repository
+public class JdbcProductExportRepository implements ProductExportRepository {
+
+    private static final String EXPORT_QUERY = """
+            SELECT p.id, p.name, p.price, p.description, p.category, p.active, p.created_at, p.updated_at, i.url
+            FROM product p
+            LEFT JOIN product_image i ON i.product_id = p.id
+            ORDER BY p.id, i.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    private final ProductCatalogVersionCounter catalogVersion;
+
+    public JdbcProductExportRepository(JdbcTemplate jdbcTemplate,
+                                       @Value("${product.export.fetch-size:500}") int fetchSize,
+                                       ProductCatalogVersionCounter catalogVersion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        this.catalogVersion = catalogVersion;
+    }
+
+    // Postgres only honours the fetch size inside a transaction; otherwise it materializes the whole result.
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachProduct(Consumer<Product> consumer) {
+        stream(consumer);
+    }
+
+    // Under REPEATABLE READ both statements see the snapshot taken by the first one, so the products streamed are
+    // exactly the catalog at the version read.
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long forEachProductAtCatalogVersion(Consumer<Product> consumer) {
+        long version = catalogVersion.current();
+        stream(consumer);
+        return version;
+    }
+
+    private void stream(Consumer<Product> consumer) {
+        var handler = new ProductJoinRowCallbackHandler(consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, handler);
+        handler.flush();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code product_read_model} holds one row per product with its image urls embedded as a JSONB array, so a read by
+ * id, id list or category is one indexed single-table query. Reads are served from it only when
+ * {@code product.repository.read-mode=read-model}, and rows are only rebuilt from {@code product} and
+ * {@code product_image} by the write paths, inside their transaction, while {@code product.read-model.enabled} is on.
+ * That switch follows the read mode unless set, so a deployment reading through JPA or the join does not pay for a
+ * table nothing reads; setting it on keeps the model current ahead of switching the reads over.
+ * <p>
+ * A model that was not maintained for a while is stale, so every instance that maintains it first brings all rows
+ * up to date once it is ready.
+ */
+@Slf4j
+@Component
+class JdbcProductReadModel implements ProductReader {
+
+    static final String READ_MODE = "read-model";
+
+    private static final String COLUMNS = "id, name, price, description, category, active, images, created_at, updated_at";
+    private static final String SOURCE = """
+            SELECT p.id, p.name, p.price, p.description, p.category, p.active,
+                   COALESCE((SELECT jsonb_agg(i.url ORDER BY i.id) FROM product_image i WHERE i.product_id = p.id), '[]'::jsonb) AS images,
+                   p.created_at, p.updated_at
+            FROM product p
+            """;
+    private static final String UPSERT = """
+            INSERT INTO product_read_model (id, name, price, description, category, active, images, created_at, updated_at)
+            %s
+            ON CONFLICT (id) DO UPDATE SET
+                name = EXCLUDED.name,
+                price = EXCLUDED.price,
+                description = EXCLUDED.description,
+                category = EXCLUDED.category,
+                active = EXCLUDED.active,
+                images = EXCLUDED.images,
+                created_at = EXCLUDED.created_at,
+                updated_at = EXCLUDED.updated_at
+            %s
+            """;
+    private static final String REFRESH = UPSERT.formatted(SOURCE + "WHERE p.id = ANY (?)", "");
+    // Only rows that are missing or differ from product are written, so a boot on an up-to-date table creates no
+    // dead tuples. Runs outside the writes' transactions: a row another instance refreshed after this statement's
+    // snapshot has a later updated_at (every write sets it) and is left alone instead of being overwritten.
+    private static final String REFRESH_ALL = UPSERT.formatted("""
+            SELECT s.* FROM (%s) s
+            LEFT JOIN product_read_model m ON m.id = s.id
+            WHERE (m.name, m.price, m.description, m.category, m.active, m.images, m.created_at, m.updated_at)
+                  IS DISTINCT FROM (s.name, s.price, s.description, s.category, s.active, s.images, s.created_at, s.updated_at)
+            """.formatted(SOURCE), """
+            WHERE COALESCE(EXCLUDED.updated_at, EXCLUDED.created_at)
+                  >= COALESCE(product_read_model.updated_at, product_read_model.created_at)""");
+    private static final String FIND_BY_ID = "SELECT " + COLUMNS + " FROM product_read_model WHERE id = ?";
+    private static final String FIND_BY_IDS = "SELECT " + COLUMNS + " FROM product_read_model WHERE id = ANY (?)";
+    private static final String FIND_BY_CATEGORY = "SELECT " + COLUMNS + " FROM product_read_model WHERE category = ? AND active ORDER BY id";
+    private static final String FIND_PAGE_BY_CATEGORY = "SELECT " + COLUMNS + " FROM product_read_model WHERE category = ? AND active AND id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean maintained;
+    private final boolean servesReads;
+
+    JdbcProductReadModel(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                         @Value("${product.read-model.enabled:}") Boolean enabled,
+                         @Value("${product.repository.read-mode:jpa}") String readMode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.maintained = enabled != null ? enabled : READ_MODE.equals(readMode);
+        this.servesReads = maintained && READ_MODE.equals(readMode);
+    }
+
+    boolean isMaintained() {
+        return maintained;
+    }
+
+    @Override
+    public boolean servesReads() {
+        return servesReads;
+    }
+
+    void refresh(Collection<Long> productIds) {
+        if (!maintained || productIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(REFRESH, ps -> setIds(ps, 1, productIds));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshAll() {
+        if (!maintained) {
+            return;
+        }
+        int rows = jdbcTemplate.update(REFRESH_ALL);
+        log.info("product_read_model brought up to date, {} stale rows rewritten", rows);
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return jdbcTemplate.query(FIND_BY_ID, this::mapRow, id).stream().findFirst();
+    }
+
+    @Override
+    public List<Product> findByIds(Collection<Long> ids) {
+        return jdbcTemplate.query(FIND_BY_IDS, ps -> setIds(ps, 1, ids), this::mapRow);
+    }
+
+    @Override
+    public List<Product> findActiveByCategory(Category category) {
+        return jdbcTemplate.query(FIND_BY_CATEGORY, this::mapRow, category.toString());
+    }
+
+    @Override
+    public List<Product> findActivePageByCategory(Category category, Long afterId, int limit) {
+        return jdbcTemplate.query(FIND_PAGE_BY_CATEGORY, this::mapRow, category.toString(), afterId, limit);
+    }
+
+    private static void setIds(PreparedStatement ps, int index, Collection<Long> ids) throws SQLException {
+        ps.setArray(index, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+    }
+
+    private Product mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Product(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getBigDecimal("price"),
+                rs.getString("description"),
+                Category.valueOf(rs.getString("category")),
+                rs.getBoolean("active"),
+                readImages(rs.getString("images")),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class)
+        );
+    }
+
+    private List<ProductImage> readImages(String json) {
+        try {
+            return Arrays.stream(objectMapper.readValue(json, String[].class))
+                    .map(ProductImage::new)
+                    .toList();
+        } catch (JsonProcessingException e) {
+            throw new DataRetrievalFailureException("Invalid images array in product_read_model", e);
+        }
+    }
+}
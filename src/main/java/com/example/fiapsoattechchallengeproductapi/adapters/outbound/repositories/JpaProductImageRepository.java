@@ -2,18 +2,13 @@ package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositori
 
 import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductImageEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface JpaProductImageRepository extends JpaRepository<JpaProductImageEntity, Long> {
 
-    List<JpaProductImageEntity> findByProductId(Long productId);
+    List<JpaProductImageEntity> findByProductIdOrderById(Long productId);
 
-    @Transactional
-    @Modifying
-    @Query("DELETE FROM JpaProductImageEntity i WHERE i.productId = :productId")
-    void deleteAllImagesByProductId(Long productId);
+    List<JpaProductImageEntity> findByProductIdIn(Collection<Long> productIds);
 }
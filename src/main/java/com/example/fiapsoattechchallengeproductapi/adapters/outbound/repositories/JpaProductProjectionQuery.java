@@ -0,0 +1,106 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductEntity;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Tuple queries over {@code product} that select only the columns behind the requested {@link ProductField}s.
+ * The id is always selected because images, batch lookups and page cursors are keyed by it.
+ */
+@Component
+@RequiredArgsConstructor
+class JpaProductProjectionQuery {
+
+    private final EntityManager entityManager;
+
+    List<Product> findByIds(Collection<Long> ids, Set<ProductField> fields) {
+        return find(fields, (cb, product) -> product.get("id").in(ids), false, null);
+    }
+
+    List<Product> findActiveByCategory(String category, Set<ProductField> fields) {
+        return find(fields, (cb, product) -> activeIn(cb, product, category), false, null);
+    }
+
+    List<Product> findActivePageByCategory(String category, Long afterId, int limit, Set<ProductField> fields) {
+        return find(fields, (cb, product) -> cb.and(activeIn(cb, product, category), cb.greaterThan(product.<Long>get("id"), afterId)),
+                true, limit);
+    }
+
+    private List<Product> find(Set<ProductField> fields,
+                               BiFunction<CriteriaBuilder, Root<JpaProductEntity>, Predicate> where,
+                               boolean orderById, Integer limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<JpaProductEntity> product = query.from(JpaProductEntity.class);
+
+        List<ProductField> columns = columnsOf(fields);
+        query.multiselect(columns.stream()
+                .<Selection<?>>map(field -> product.get(field.getFieldName()).alias(field.getFieldName()))
+                .toList());
+        query.where(where.apply(cb, product));
+        if (orderById) {
+            query.orderBy(cb.asc(product.get("id")));
+        }
+
+        var typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList().stream()
+                .map(tuple -> toProduct(tuple, columns))
+                .toList();
+    }
+
+    private static Predicate activeIn(CriteriaBuilder cb, Root<JpaProductEntity> product, String category) {
+        return cb.and(cb.equal(product.get("category"), category), cb.isTrue(product.<Boolean>get("active")));
+    }
+
+    private static List<ProductField> columnsOf(Set<ProductField> fields) {
+        List<ProductField> columns = new ArrayList<>();
+        columns.add(ProductField.ID);
+        for (ProductField field : fields) {
+            if (field != ProductField.ID && field != ProductField.IMAGES) {
+                columns.add(field);
+            }
+        }
+        return columns;
+    }
+
+    private static Product toProduct(Tuple tuple, List<ProductField> columns) {
+        Product product = new Product();
+        for (ProductField field : columns) {
+            Object value = tuple.get(field.getFieldName());
+            switch (field) {
+                case ID -> product.setId((Long) value);
+                case NAME -> product.setName((String) value);
+                case PRICE -> product.setPrice((BigDecimal) value);
+                case DESCRIPTION -> product.setDescription((String) value);
+                case CATEGORY -> product.setCategory(Category.valueOf((String) value));
+                case ACTIVE -> product.setActive((Boolean) value);
+                case CREATED_AT -> product.setCreatedAt((LocalDateTime) value);
+                case UPDATED_AT -> product.setUpdatedAt((LocalDateTime) value);
+                default -> throw new IllegalStateException(field + " is not a product column");
+            }
+        }
+        return product;
+    }
+}
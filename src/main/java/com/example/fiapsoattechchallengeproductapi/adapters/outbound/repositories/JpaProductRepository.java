@@ -1,14 +1,35 @@
 package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
 
 import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface JpaProductRepository extends JpaRepository<JpaProductEntity, Long> {
 
     @Query("SELECT p FROM JpaProductEntity p WHERE p.category = :category AND p.active = true")
     List<JpaProductEntity> findProductByCategory(@Param("category") String category);
+
+    @Query("SELECT p FROM JpaProductEntity p WHERE p.category = :category AND p.active = true AND p.id > :afterId ORDER BY p.id")
+    List<JpaProductEntity> findProductPageByCategory(@Param("category") String category, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(p.updatedAt, p.createdAt) FROM JpaProductEntity p WHERE p.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(p) AS total, SUM(p.id) AS idSum, MAX(COALESCE(p.updatedAt, p.createdAt)) AS lastModified " +
+            "FROM JpaProductEntity p WHERE p.category = :category AND p.active = true")
+    CategoryVersionView findVersionByCategory(@Param("category") String category);
+
+    interface CategoryVersionView {
+        Long getTotal();
+
+        Long getIdSum();
+
+        LocalDateTime getLastModified();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductEntity;
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications.ProductChangeNotifier;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImage;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImportRepository;
+import com.example.fiapsoattechchallengeproductapi.utils.CsvUtils;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Loads a whole catalog with two COPY statements instead of one insert per product and per image.
+ * Ids are reserved up front with one nextval query per table so images can reference their product,
+ * and everything runs in one transaction so a failed import leaves no partial menu behind.
+ */
+@Repository
+public class PostgresProductImportRepository implements ProductImportRepository {
+
+    private static final String NEXT_PRODUCT_BLOCKS = "SELECT nextval('product_id_seq') FROM generate_series(1, ?)";
+    private static final String NEXT_IMAGE_BLOCKS = "SELECT nextval('product_image_id_seq') FROM generate_series(1, ?)";
+    private static final String COPY_PRODUCTS = "COPY product (id, name, price, description, category, active, created_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_IMAGES = "COPY product_image (id, product_id, url, created_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductChangeNotifier changeNotifier;
+    private final JdbcProductReadModel readModel;
+    private final ProductCatalogVersionCounter catalogVersion;
+
+    public PostgresProductImportRepository(JdbcTemplate jdbcTemplate, ProductChangeNotifier changeNotifier,
+                                           JdbcProductReadModel readModel, ProductCatalogVersionCounter catalogVersion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeNotifier = changeNotifier;
+        this.readModel = readModel;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> importProducts(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int imageCount = products.stream().mapToInt(product -> product.getImages().size()).sum();
+        List<Long> productIds = reserveIds(NEXT_PRODUCT_BLOCKS, products.size());
+        List<Long> imageIds = imageCount == 0 ? List.of() : reserveIds(NEXT_IMAGE_BLOCKS, imageCount);
+
+        var productRows = new StringBuilder();
+        var imageRows = new StringBuilder();
+        var categories = EnumSet.noneOf(Category.class);
+        int imageIndex = 0;
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            Long productId = productIds.get(i);
+            product.setId(productId);
+            product.setCreatedAt(now);
+            categories.add(product.getCategory());
+            appendRow(productRows, productId, product.getName(), product.getPrice().toPlainString(), product.getDescription(),
+                    product.getCategory(), product.getActive(), now);
+            for (ProductImage image : product.getImages()) {
+                appendRow(imageRows, imageIds.get(imageIndex++), productId, image.getUrl(), now);
+            }
+        }
+
+        copyIn(COPY_PRODUCTS, productRows);
+        if (imageCount > 0) {
+            copyIn(COPY_IMAGES, imageRows);
+        }
+        readModel.refresh(productIds);
+
+        changeNotifier.notifyChange(ProductChangedEvent.of(null, categories.toArray(Category[]::new))
+                .withCatalogVersion(catalogVersion.increment()));
+        return productIds;
+    }
+
+    // Each nextval owns the same block Hibernate's pooled optimizer would take for it, (value - allocationSize, value],
+    // so imported ids never collide with ids handed out by the JPA entities.
+    private List<Long> reserveIds(String query, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + JpaProductEntity.ID_ALLOCATION_SIZE - 1) / JpaProductEntity.ID_ALLOCATION_SIZE;
+            for (Long blockEnd : jdbcTemplate.queryForList(query, Long.class, blocks)) {
+                for (long id = Math.max(1, blockEnd - JpaProductEntity.ID_ALLOCATION_SIZE + 1); id <= blockEnd && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void appendRow(StringBuilder rows, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                rows.append(',');
+            }
+            rows.append(CsvUtils.escape(values[i]));
+        }
+        rows.append('\n');
+    }
+
+    // Runs on the transaction's connection, so the COPY commits or rolls back together with the id reservation.
+    private void copyIn(String sql, CharSequence rows) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(rows.toString()));
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Falha ao enviar dados via COPY", e);
+            }
+        });
+    }
+}
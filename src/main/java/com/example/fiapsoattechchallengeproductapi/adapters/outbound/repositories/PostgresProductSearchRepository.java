@@ -0,0 +1,61 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSearchRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranks active products against the generated {@code search_vector} column (V6) through its GIN index.
+ * {@code websearch_to_tsquery} accepts free text from the kiosk as typed, quotes and {@code -word} included, and never
+ * fails on syntax. The limit is applied to the ranked products before their images are joined in.
+ */
+@Repository
+public class PostgresProductSearchRepository implements ProductSearchRepository {
+
+    private static final String SEARCH = """
+            WITH hits AS (
+                SELECT p.id, p.name, p.price, p.description, p.category, p.active, p.created_at, p.updated_at,
+                       ts_rank(p.search_vector, q.query) AS rank
+                FROM product p, websearch_to_tsquery('portuguese', :query) AS q(query)
+                WHERE p.active AND p.search_vector @@ q.query %s
+                ORDER BY rank DESC, p.id
+                LIMIT :limit
+            )
+            SELECT p.id, p.name, p.price, p.description, p.category, p.active, p.created_at, p.updated_at, i.url
+            FROM hits p
+            LEFT JOIN product_image i ON i.product_id = p.id
+            ORDER BY p.rank DESC, p.id, i.id
+            """;
+    private static final String SEARCH_ALL_CATEGORIES = SEARCH.formatted("");
+    private static final String SEARCH_IN_CATEGORY = SEARCH.formatted("AND p.category = :category");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PostgresProductSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> search(String query, Category category, int limit) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", limit);
+        if (category != null) {
+            parameters.addValue("category", category.toString());
+        }
+
+        List<Product> products = new ArrayList<>();
+        var handler = new ProductJoinRowCallbackHandler(products::add);
+        jdbcTemplate.query(category == null ? SEARCH_ALL_CATEGORIES : SEARCH_IN_CATEGORY, parameters, handler);
+        handler.flush();
+        return products;
+    }
+}
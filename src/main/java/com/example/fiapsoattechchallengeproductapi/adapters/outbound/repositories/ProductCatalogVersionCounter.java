@@ -0,0 +1,32 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The catalog version kept in {@code product_catalog_version}: every write increments it inside its transaction and
+ * carries the new value in its {@code ProductChangedEvent}. The row stays locked until the write commits, so versions
+ * follow commit order across all instances and survive restarts.
+ */
+@Component
+class ProductCatalogVersionCounter {
+
+    private static final String INCREMENT = "UPDATE product_catalog_version SET version = version + 1 WHERE id = 1";
+    private static final String CURRENT = "SELECT version FROM product_catalog_version WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ProductCatalogVersionCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Must run inside the write's transaction; the lock taken here is held until it commits.
+    long increment() {
+        jdbcTemplate.update(INCREMENT);
+        return current();
+    }
+
+    long current() {
+        return jdbcTemplate.queryForObject(CURRENT, Long.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImage;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Assembles products from {@code product LEFT JOIN product_image} rows in which the rows of each product are
+ * consecutive, e.g. ordered by product id. Only the product currently being assembled is held; call
+ * {@link #flush()} after the query to emit the last one.
+ */
+class ProductJoinRowCallbackHandler implements RowCallbackHandler {
+    private final Consumer<Product> consumer;
+    private Product current;
+
+    ProductJoinRowCallbackHandler(Consumer<Product> consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        long id = rs.getLong("id");
+        if (current == null || current.getId() != id) {
+            flush();
+            current = new Product(
+                    id,
+                    rs.getString("name"),
+                    rs.getBigDecimal("price"),
+                    rs.getString("description"),
+                    Category.valueOf(rs.getString("category")),
+                    rs.getBoolean("active"),
+                    new ArrayList<>(),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("updated_at", LocalDateTime.class)
+            );
+        }
+        String url = rs.getString("url");
+        if (url != null) {
+            current.getImages().add(new ProductImage(url));
+        }
+    }
+
+    void flush() {
+        if (current != null) {
+            consumer.accept(current);
+            current = null;
+        }
+    }
+}
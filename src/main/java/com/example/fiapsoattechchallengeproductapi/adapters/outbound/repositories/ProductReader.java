@@ -0,0 +1,25 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Alternative read path for {@link ProductRepositoryImpl}, chosen with {@code product.repository.read-mode}. When no
+ * reader serves reads, the repository reads through JPA.
+ */
+interface ProductReader {
+
+    boolean servesReads();
+
+    Optional<Product> findById(Long id);
+
+    List<Product> findByIds(Collection<Long> ids);
+
+    List<Product> findActiveByCategory(Category category);
+
+    List<Product> findActivePageByCategory(Category category, Long afterId, int limit);
+}
@@ -2,32 +2,55 @@ package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositori
 
 import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductEntity;
 import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductImageEntity;
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications.ProductChangeNotifier;
 import com.example.fiapsoattechchallengeproductapi.domain.Category;
 import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductField;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImage;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
 import com.example.fiapsoattechchallengeproductapi.exceptions.ProductNotFoundException;
 import com.example.fiapsoattechchallengeproductapi.utils.mappers.ProductMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Repository
+@Timed(value = "product.repository", histogram = true)
 public class ProductRepositoryImpl implements ProductRepository {
 
     private final JpaProductRepository jpaProductRepository;
     private final JpaProductImageRepository jpaProductImageRepository;
     private final ProductMapper mapper;
+    private final ProductChangeNotifier changeNotifier;
+    private final JpaProductProjectionQuery projectionQuery;
+    private final JdbcProductReadModel readModel;
+    private final JdbcJoinProductReader joinReader;
+    private final ProductCatalogVersionCounter catalogVersion;
 
-    public ProductRepositoryImpl(JpaProductRepository jpaProductRepository, JpaProductImageRepository jpaProductImageRepository, ProductMapper mapper) {
+    public ProductRepositoryImpl(JpaProductRepository jpaProductRepository, JpaProductImageRepository jpaProductImageRepository, ProductMapper mapper, ProductChangeNotifier changeNotifier, JpaProductProjectionQuery projectionQuery, JdbcProductReadModel readModel, JdbcJoinProductReader joinReader, ProductCatalogVersionCounter catalogVersion) {
         this.jpaProductRepository = jpaProductRepository;
         this.jpaProductImageRepository = jpaProductImageRepository;
         this.mapper = mapper;
+        this.changeNotifier = changeNotifier;
+        this.projectionQuery = projectionQuery;
+        this.readModel = readModel;
+        this.joinReader = joinReader;
+        this.catalogVersion = catalogVersion;
     }
 
     @Override
+    @Transactional
     public Product save(Product product) {
         product.setActive(true);
         product.setCreatedAt(LocalDateTime.now());
@@ -38,34 +61,131 @@ public class ProductRepositoryImpl implements ProductRepository {
                 .toList();
 
         var images = jpaProductImageRepository.saveAll(productImageEntities);
+        refreshReadModel(productEntity.getId());
 
+        changeNotifier.notifyChange(ProductChangedEvent.of(productEntity.getId(), product.getCategory())
+                .withCatalogVersion(nextCatalogVersion()));
         return mapper.jpaToDomain(productEntity, images);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Product> findAll(List<Long> ids) {
+        var reader = selectedReader();
+        if (reader != null) {
+            return reader.findByIds(ids);
+        }
         var productEntities = jpaProductRepository.findAllById(ids);
-        var productImages = jpaProductImageRepository.findAll();
+        var productImages = findImagesOf(productEntities);
         return mapper.jpaToDomainList(productEntities, productImages);
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Product> findById(Long id) {
+        var reader = selectedReader();
+        if (reader != null) {
+            return Optional.of(reader.findById(id).orElseThrow(() -> new ProductNotFoundException("Produto com ID " + id + " não encontrado")));
+        }
         JpaProductEntity productEntity = this.jpaProductRepository.findById(id).orElseThrow(() -> new ProductNotFoundException("Produto com ID " + id + " não encontrado"));
-        List<JpaProductImageEntity> imageEntity = this.jpaProductImageRepository.findByProductId(id);
+        List<JpaProductImageEntity> imageEntity = this.jpaProductImageRepository.findByProductIdOrderById(id);
         return Optional.of(mapper.jpaToDomain(productEntity, imageEntity));
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<Product> findProductByCategory(Category category) {
+        var reader = selectedReader();
+        if (reader != null) {
+            return reader.findActiveByCategory(category);
+        }
         List<JpaProductEntity> products = this.jpaProductRepository.findProductByCategory(category.toString());
-        List<JpaProductImageEntity> images = this.jpaProductImageRepository.findAll();
+        List<JpaProductImageEntity> images = findImagesOf(products);
+        return mapper.jpaToDomainList(products, images);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findProductPageByCategory(Category category, Long afterId, int limit) {
+        var reader = selectedReader();
+        if (reader != null) {
+            return reader.findActivePageByCategory(category, afterId, limit);
+        }
+        List<JpaProductEntity> products = this.jpaProductRepository.findProductPageByCategory(category.toString(), afterId, PageRequest.of(0, limit));
+        List<JpaProductImageEntity> images = findImagesOf(products);
         return mapper.jpaToDomainList(products, images);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ProductVersion findVersionById(Long id) {
+        var lastModified = jpaProductRepository.findLastModifiedById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Produto com ID " + id + " não encontrado"));
+        return new ProductVersion(id.toString(), lastModified);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductVersion findVersionByCategory(Category category) {
+        var view = jpaProductRepository.findVersionByCategory(category.toString());
+        // Count and id sum change when a product leaves the category, which never moves the max timestamp.
+        var idSum = view.getIdSum() == null ? 0 : view.getIdSum();
+        return new ProductVersion(category + "-" + view.getTotal() + "-" + idSum, view.getLastModified());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAll(List<Long> ids, Set<ProductField> fields) {
+        return withRequestedImages(projectionQuery.findByIds(ids, fields), fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findProductByCategory(Category category, Set<ProductField> fields) {
+        return withRequestedImages(projectionQuery.findActiveByCategory(category.toString(), fields), fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findProductPageByCategory(Category category, Long afterId, int limit, Set<ProductField> fields) {
+        return withRequestedImages(projectionQuery.findActivePageByCategory(category.toString(), afterId, limit, fields), fields);
+    }
+
+    private List<Product> withRequestedImages(List<Product> products, Set<ProductField> fields) {
+        if (!fields.contains(ProductField.IMAGES) || products.isEmpty()) {
+            return products;
+        }
+        var productIds = products.stream().map(Product::getId).toList();
+        Map<Long, List<JpaProductImageEntity>> imagesByProductId = jpaProductImageRepository.findByProductIdIn(productIds).stream()
+                .collect(Collectors.groupingBy(JpaProductImageEntity::getProductId));
+        products.forEach(product -> product.setImages(
+                mapper.mapImageJpaToDomainList(imagesByProductId.getOrDefault(product.getId(), List.of()))));
+        return products;
+    }
+
+    // product.repository.read-mode picks the read path; null means the JPA queries in this class.
+    private ProductReader selectedReader() {
+        if (readModel.servesReads()) {
+            return readModel;
+        }
+        if (joinReader.servesReads()) {
+            return joinReader;
+        }
+        return null;
+    }
+
+    private List<JpaProductImageEntity> findImagesOf(List<JpaProductEntity> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        var productIds = products.stream().map(JpaProductEntity::getId).toList();
+        return jpaProductImageRepository.findByProductIdIn(productIds);
+    }
+
+    @Override
+    @Transactional
     public void deleteById(Long id) {
         try {
             JpaProductEntity productEntity = this.jpaProductRepository.findById(id)
@@ -75,14 +195,19 @@ public class ProductRepositoryImpl implements ProductRepository {
             productEntity.setUpdatedAt(LocalDateTime.now());
             
             this.jpaProductRepository.save(productEntity);
+            refreshReadModel(id);
+            changeNotifier.notifyChange(ProductChangedEvent.of(id, Category.valueOf(productEntity.getCategory()))
+                    .withCatalogVersion(nextCatalogVersion()));
         } catch (Exception e) {
             throw new ProductNotFoundException("Error disabling product with ID " + id + ": " + e.getMessage());
         }
     }
 
     @Override
+    @Transactional
     public Product updateProduct(Long id, Product product) {
         var currentProduct = jpaProductRepository.findById(id).orElseThrow();
+        var previousCategory = Category.valueOf(currentProduct.getCategory());
 
         currentProduct.setId(currentProduct.getId());
         currentProduct.setActive(currentProduct.getActive());
@@ -93,17 +218,72 @@ public class ProductRepositoryImpl implements ProductRepository {
         currentProduct.setCreatedAt(currentProduct.getCreatedAt());
         currentProduct.setUpdatedAt(LocalDateTime.now());
 
-        jpaProductImageRepository.deleteAllImagesByProductId(id);
-
-        List<JpaProductImageEntity> newImages = new ArrayList<>();
-        if (product.getImages() != null) {
-            newImages = product.getImages().stream()
-                    .map(image -> new JpaProductImageEntity(currentProduct.getId(), image.getUrl(), LocalDateTime.now(), LocalDateTime.now()))
-                    .toList();
-        }
+        var images = syncImages(id, product.getImages() == null ? List.of() : product.getImages());
         var updatedEntity = jpaProductRepository.save(currentProduct);
-        var images = jpaProductImageRepository.saveAll(newImages);
+        refreshReadModel(id);
 
+        changeNotifier.notifyChange(ProductChangedEvent.of(id, previousCategory, product.getCategory())
+                .withCatalogVersion(nextCatalogVersion()));
         return mapper.jpaToDomain(updatedEntity, images);
     }
+
+    // The read model row is rebuilt in SQL from product and product_image, so pending inserts and updates of this
+    // transaction are flushed first.
+    private void refreshReadModel(Long productId) {
+        if (readModel.isMaintained()) {
+            jpaProductRepository.flush();
+            readModel.refresh(List.of(productId));
+        }
+    }
+
+    // Pending changes are flushed first so the version is taken last: the counter row stays locked until commit, and
+    // a read of the catalog at that version right after the write, even in the same transaction, finds the changes.
+    private long nextCatalogVersion() {
+        jpaProductRepository.flush();
+        return catalogVersion.increment();
+    }
+
+    // Reads return a product's images in id order, so existing rows are kept only while they match the wanted list
+    // position by position; from the first difference on, the rest is deleted and inserted again in the wanted order.
+    // A price-only update therefore does not touch product_image, and a reorder still reaches the database.
+    private List<JpaProductImageEntity> syncImages(Long productId, List<ProductImage> wantedImages) {
+        var existing = jpaProductImageRepository.findByProductIdOrderById(productId);
+        int kept = 0;
+        while (kept < existing.size() && kept < wantedImages.size()
+                && existing.get(kept).getUrl().equals(wantedImages.get(kept).getUrl())) {
+            kept++;
+        }
+
+        var toDelete = existing.subList(kept, existing.size());
+        if (!toDelete.isEmpty()) {
+            jpaProductImageRepository.deleteAllInBatch(List.copyOf(toDelete));
+        }
+        var toInsert = newImages(productId, wantedImages.subList(kept, wantedImages.size()));
+        if (toInsert.isEmpty()) {
+            return List.copyOf(existing.subList(0, kept));
+        }
+
+        // Ids come from per-instance pooled blocks, so rows written by another instance can sort after the ones
+        // inserted here; the whole list is then rewritten so that id order is the wanted order again.
+        if (kept > 0 && toInsert.get(0).getId() < existing.get(kept - 1).getId()) {
+            jpaProductImageRepository.deleteAll(toInsert);
+            jpaProductImageRepository.deleteAllInBatch(List.copyOf(existing.subList(0, kept)));
+            return newImages(productId, wantedImages);
+        }
+        List<JpaProductImageEntity> images = new ArrayList<>(existing.subList(0, kept));
+        images.addAll(toInsert);
+        return images;
+    }
+
+    private List<JpaProductImageEntity> newImages(Long productId, List<ProductImage> images) {
+        if (images.isEmpty()) {
+            return List.of();
+        }
+        var now = LocalDateTime.now();
+        var entities = images.stream()
+                .map(image -> new JpaProductImageEntity(productId, image.getUrl(), now, now))
+                .toList();
+        jpaProductImageRepository.saveAll(entities);
+        return entities;
+    }
 }
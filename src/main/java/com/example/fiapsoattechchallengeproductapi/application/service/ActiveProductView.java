@@ -0,0 +1,99 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory view over the active products that reads never take a lock or a connection for. Subclasses keep their
+ * state in an immutable object behind a volatile field; {@link #replaceAll} and {@link #update} build the next one
+ * and swap it in, always under the same lock, so writers never lose each other's changes.
+ * <p>
+ * The view follows {@link ProductServiceImpl}'s writes; loading it and following other instances' changes is left
+ * to {@link ActiveProductViews}, which reads the products once for every view.
+ */
+abstract class ActiveProductView {
+
+    private final Object writeLock = new Object();
+
+    // Writes made while a rebuild is loading, replayed over the loaded products so they are not lost; null values
+    // are removals. Null when no rebuild is running.
+    private Map<Long, Product> writesDuringRebuild;
+
+    /**
+     * Replaces the whole view. Called under the write lock.
+     */
+    protected abstract void replaceAll(Collection<Product> activeProducts);
+
+    /**
+     * Applies changed products by id; a null product was removed or disabled. Called under the write lock.
+     */
+    protected abstract void update(Map<Long, Product> changes);
+
+    public void put(Product product) {
+        putAll(List.of(product));
+    }
+
+    public void putAll(Collection<Product> products) {
+        Map<Long, Product> changes = new LinkedHashMap<>();
+        for (Product product : products) {
+            changes.put(product.getId(), Boolean.FALSE.equals(product.getActive()) ? null : product);
+        }
+        apply(changes);
+    }
+
+    public void remove(Long id) {
+        Map<Long, Product> changes = new HashMap<>();
+        changes.put(id, null);
+        apply(changes);
+    }
+
+    /**
+     * Starts recording writes, which {@link #finishRebuild} replays over the products loaded in the meantime.
+     */
+    void startRebuild() {
+        synchronized (writeLock) {
+            writesDuringRebuild = new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * Replaces the view with the loaded active products, plus the writes recorded since {@link #startRebuild}.
+     */
+    void finishRebuild(Map<Long, Product> loadedProducts) {
+        Map<Long, Product> products = new HashMap<>(loadedProducts);
+        synchronized (writeLock) {
+            writesDuringRebuild.forEach((id, product) -> {
+                if (product == null) {
+                    products.remove(id);
+                } else {
+                    products.put(id, product);
+                }
+            });
+            replaceAll(products.values());
+            writesDuringRebuild = null;
+        }
+    }
+
+    /**
+     * Stops recording writes when the load failed; the view keeps its previous state.
+     */
+    void cancelRebuild() {
+        synchronized (writeLock) {
+            writesDuringRebuild = null;
+        }
+    }
+
+    private void apply(Map<Long, Product> changes) {
+        synchronized (writeLock) {
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.putAll(changes);
+            }
+            update(changes);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductExportRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads every {@link ActiveProductView} and the {@link ProductMenu} from a single pass over the catalog once the
+ * application is ready, and keeps them in step with the changes other instances notify. Those arrive outside a write
+ * transaction. A single product is re-read by id once for all views, and the menu is reloaded unless it already
+ * includes the event's catalog version; an event that covers all products loads everything again.
+ */
+@Component
+class ActiveProductViews {
+
+    private final List<ActiveProductView> views;
+    private final ProductMenu productMenu;
+    private final ProductExportRepository productExportRepository;
+    private final ProductRepository productRepository;
+    private final Object rebuildLock = new Object();
+
+    ActiveProductViews(List<ActiveProductView> views, ProductMenu productMenu,
+                       ProductExportRepository productExportRepository, ProductRepository productRepository) {
+        this.views = views;
+        this.productMenu = productMenu;
+        this.productExportRepository = productExportRepository;
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            views.forEach(ActiveProductView::startRebuild);
+            try {
+                Map<Long, Product> products = new HashMap<>();
+                long catalogVersion = productExportRepository.forEachProductAtCatalogVersion(product -> {
+                    if (Boolean.TRUE.equals(product.getActive())) {
+                        products.put(product.getId(), product);
+                    }
+                });
+                views.forEach(view -> view.finishRebuild(products));
+                productMenu.replace(products.values(), catalogVersion);
+            } finally {
+                views.forEach(ActiveProductView::cancelRebuild);
+            }
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        // Published inside this instance's own write transaction: ProductServiceImpl applies it once the write returns.
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        if (event.affectsAllProducts()) {
+            rebuild();
+            return;
+        }
+        var products = productRepository.findAll(List.of(event.getProductId()));
+        for (ActiveProductView view : views) {
+            if (products.isEmpty()) {
+                view.remove(event.getProductId());
+            } else {
+                view.putAll(products);
+            }
+        }
+        // The views apply every event, but the menu is reloaded whole: one loaded for an earlier event, or by this
+        // instance's own write, may already include this one.
+        Long catalogVersion = event.getCatalogVersion();
+        if (catalogVersion == null || catalogVersion > productMenu.current().getVersion()) {
+            productMenu.reload();
+        }
+    }
+}
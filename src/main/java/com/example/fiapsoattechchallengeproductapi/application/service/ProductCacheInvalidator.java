@@ -0,0 +1,46 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ProductCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        evictProduct(ProductCaches.PRODUCT_BY_ID, event);
+        evictProduct(ProductCaches.PRODUCT_VERSION_BY_ID, event);
+        evictCategories(ProductCaches.PRODUCTS_BY_CATEGORY, event);
+        evictCategories(ProductCaches.PRODUCT_VERSION_BY_CATEGORY, event);
+    }
+
+    private void evictProduct(String cacheName, ProductChangedEvent event) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (event.affectsAllProducts()) {
+            cache.clear();
+        } else {
+            cache.evict(event.getProductId());
+        }
+    }
+
+    private void evictCategories(String cacheName, ProductChangedEvent event) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        for (Category category : event.getCategories()) {
+            cache.evict(category);
+        }
+    }
+}
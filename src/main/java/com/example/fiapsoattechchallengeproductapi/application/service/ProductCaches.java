@@ -0,0 +1,12 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+public final class ProductCaches {
+
+    public static final String PRODUCT_BY_ID = "productById";
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+    public static final String PRODUCT_VERSION_BY_ID = "productVersionById";
+    public static final String PRODUCT_VERSION_BY_CATEGORY = "productVersionByCategory";
+
+    private ProductCaches() {
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductExportRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductMenuDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductMenuDTO.Item;
+import com.example.fiapsoattechchallengeproductapi.utils.mappers.ProductMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every active product grouped by category, as one immutable {@link ProductMenuDTO} that {@code GET /product/menu}
+ * serializes as is. The menu is always built from one snapshot of the catalog, and its version is the catalog
+ * version of that snapshot, kept in the database: the same version means the same menu on every instance and
+ * across restarts. A menu older than the current one is never swapped in, so the version an instance serves never
+ * goes back. Version 0 is the empty menu served before the first load.
+ */
+@Component
+public class ProductMenu {
+
+    private final ProductMapper mapper;
+    private final ProductExportRepository productExportRepository;
+
+    private volatile ProductMenuDTO menu = new ProductMenuDTO(0, groupByCategory(List.of()));
+
+    public ProductMenu(ProductMapper mapper, ProductExportRepository productExportRepository) {
+        this.mapper = mapper;
+        this.productExportRepository = productExportRepository;
+    }
+
+    public ProductMenuDTO current() {
+        return menu;
+    }
+
+    /**
+     * Loads the catalog again and swaps it in. Called after a write has committed, outside its transaction.
+     */
+    public void reload() {
+        List<Product> activeProducts = new ArrayList<>();
+        long catalogVersion = productExportRepository.forEachProductAtCatalogVersion(product -> {
+            if (Boolean.TRUE.equals(product.getActive())) {
+                activeProducts.add(product);
+            }
+        });
+        replace(activeProducts, catalogVersion);
+    }
+
+    /**
+     * Swaps in the menu of the given active products, unless the current one is already at that catalog version or
+     * later, e.g. when a replica that lags behind served the load.
+     */
+    synchronized void replace(Collection<Product> activeProducts, long catalogVersion) {
+        if (catalogVersion <= menu.getVersion()) {
+            return;
+        }
+        List<Item> items = activeProducts.stream().map(this::toItem).toList();
+        menu = new ProductMenuDTO(catalogVersion, groupByCategory(items));
+    }
+
+    private static Map<Category, List<Item>> groupByCategory(Collection<Item> products) {
+        Map<Category, List<Item>> categories = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            categories.put(category, new ArrayList<>());
+        }
+        for (Item product : products) {
+            categories.get(product.category()).add(product);
+        }
+        categories.values().forEach(items -> items.sort(Comparator.comparing(Item::id)));
+        return categories;
+    }
+
+    private Item toItem(Product product) {
+        return Item.of(mapper.domainToDTO(product));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Result-size distributions of the list reads; together with the timers they tell whether a slow response is a
+ * slow query or simply a large one. {@code product.category.loaded.size} counts only listings loaded from the
+ * repository: cache hits, whether of {@code productsByCategory} or of the serialized response, never reach it, so
+ * its count is the number of category cache misses, not of category requests.
+ */
+@Component
+public class ProductMetrics {
+
+    private final Map<Category, DistributionSummary> categoryLoadedSize = new EnumMap<>(Category.class);
+    private final DistributionSummary batchRequestedSize;
+    private final DistributionSummary batchFoundSize;
+
+    public ProductMetrics(MeterRegistry meterRegistry) {
+        for (Category category : Category.values()) {
+            categoryLoadedSize.put(category, DistributionSummary.builder("product.category.loaded.size")
+                    .description("Products loaded from the repository for a category listing; cache hits are not recorded")
+                    .baseUnit("products")
+                    .tag("category", category.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        batchRequestedSize = DistributionSummary.builder("product.batch.result.size")
+                .description("Distinct ids requested and products found per batch read")
+                .baseUnit("products")
+                .tag("result", "requested")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchFoundSize = DistributionSummary.builder("product.batch.result.size")
+                .description("Distinct ids requested and products found per batch read")
+                .baseUnit("products")
+                .tag("result", "found")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void recordCategoryLoad(Category category, int size) {
+        categoryLoadedSize.get(category).record(size);
+    }
+
+    public void recordBatchResult(int requested, int found) {
+        batchRequestedSize.record(requested);
+        batchFoundSize.record(found);
+    }
+}
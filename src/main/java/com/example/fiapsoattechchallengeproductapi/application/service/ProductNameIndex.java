@@ -0,0 +1,142 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSuggestionDTO;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Name autocomplete over the active products, answered from memory. Every word of a name is a key, folded to
+ * lower case without accents ("Pão de Queijo" is found by "pao", "de q" and "QUEIJO"), and the keys sit in one
+ * sorted array searched by binary search. Readers only dereference the current immutable {@link Snapshot}.
+ */
+@Component
+public class ProductNameIndex extends ActiveProductView {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private volatile Snapshot snapshot = Snapshot.of(Map.of());
+
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        return snapshot.find(normalize(prefix), limit);
+    }
+
+    @Override
+    protected void replaceAll(Collection<Product> activeProducts) {
+        Map<Long, String> names = new HashMap<>();
+        for (Product product : activeProducts) {
+            names.put(product.getId(), product.getName());
+        }
+        snapshot = Snapshot.of(names);
+    }
+
+    @Override
+    protected void update(Map<Long, Product> changes) {
+        Map<Long, String> names = new HashMap<>();
+        changes.forEach((id, product) -> names.put(id, product == null ? null : product.getName()));
+        snapshot = snapshot.with(names);
+    }
+
+    static String normalize(String text) {
+        String withoutAccents = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Keys and the ids they belong to, sorted by key. A name with n words has n keys, one starting at each word.
+     */
+    private record Snapshot(Map<Long, String> names, String[] keys, long[] ids) {
+
+        static Snapshot of(Map<Long, String> names) {
+            return new Snapshot(Map.of(), new String[0], new long[0]).with(names);
+        }
+
+        // Only the changed names are normalized and sorted; the untouched keys are already in order and are merged
+        // with them in one pass.
+        Snapshot with(Map<Long, String> changes) {
+            Map<Long, String> updatedNames = new HashMap<>(names);
+            List<Key> added = new ArrayList<>();
+            changes.forEach((id, name) -> {
+                if (name == null) {
+                    updatedNames.remove(id);
+                } else {
+                    updatedNames.put(id, name);
+                    addKeys(added, id, normalize(name));
+                }
+            });
+            added.sort(Comparator.comparing(Key::key));
+
+            int size = keys.length + added.size();
+            String[] mergedKeys = new String[size];
+            long[] mergedIds = new long[size];
+            int merged = 0;
+            int next = 0;
+            for (int i = 0; i <= keys.length; i++) {
+                boolean kept = i < keys.length && !changes.containsKey(ids[i]);
+                while (next < added.size() && (i == keys.length || kept && added.get(next).key().compareTo(keys[i]) < 0)) {
+                    mergedKeys[merged] = added.get(next).key();
+                    mergedIds[merged++] = added.get(next++).id();
+                }
+                if (kept) {
+                    mergedKeys[merged] = keys[i];
+                    mergedIds[merged++] = ids[i];
+                }
+            }
+            return new Snapshot(Map.copyOf(updatedNames), Arrays.copyOf(mergedKeys, merged), Arrays.copyOf(mergedIds, merged));
+        }
+
+        private static void addKeys(List<Key> keys, long id, String normalizedName) {
+            if (normalizedName.isEmpty()) {
+                return;
+            }
+            keys.add(new Key(normalizedName, id));
+            for (int space = normalizedName.indexOf(' '); space >= 0; space = normalizedName.indexOf(' ', space + 1)) {
+                keys.add(new Key(normalizedName.substring(space + 1), id));
+            }
+        }
+
+        List<ProductSuggestionDTO> find(String prefix, int limit) {
+            if (prefix.isEmpty()) {
+                return List.of();
+            }
+            Set<Long> found = new LinkedHashSet<>();
+            for (int index = firstKeyNotBefore(prefix); index < keys.length && found.size() < limit && keys[index].startsWith(prefix); index++) {
+                found.add(ids[index]);
+            }
+            return found.stream()
+                    .map(id -> new ProductSuggestionDTO(id, names.get(id)))
+                    .toList();
+        }
+
+        // Arrays.binarySearch may land on any of several equal keys; the scan has to start at the first one.
+        private int firstKeyNotBefore(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    private record Key(String key, long id) {
+    }
+}
@@ -2,48 +2,311 @@ package com.example.fiapsoattechchallengeproductapi.application.service;
 
 import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
 import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductBatchResponseDTO;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductExportRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductField;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImportRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImportResultDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductMenuDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductPageDTO;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSearchRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSuggestionDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
+import com.example.fiapsoattechchallengeproductapi.exceptions.InvalidProductRequestException;
+import com.example.fiapsoattechchallengeproductapi.exceptions.ProductNotFoundException;
 import com.example.fiapsoattechchallengeproductapi.utils.mappers.ProductMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "product.usecase", histogram = true)
 public class ProductServiceImpl implements ProductUseCase {
+    static final int MAX_BATCH_SIZE = 100;
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 50;
+    static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    static final int DEFAULT_SUGGESTION_LIMIT = 10;
+    static final int MAX_SUGGESTION_LIMIT = 20;
+
     private final ProductRepository productRepository;
+    private final ProductExportRepository productExportRepository;
+    private final ProductImportRepository productImportRepository;
+    private final ProductSearchRepository productSearchRepository;
     private final ProductMapper mapper;
+    private final ProductMetrics metrics;
+    private final ProductNameIndex productNameIndex;
+    private final ProductMenu productMenu;
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ProductCaches.PRODUCTS_BY_CATEGORY, key = "#productDTO.category"),
+            @CacheEvict(cacheNames = ProductCaches.PRODUCT_VERSION_BY_CATEGORY, key = "#productDTO.category")
+    })
     public ProductDTO createProduct(ProductDTO productDTO) {
         var product = productRepository.save(mapper.DTOtoDomain(productDTO));
+        productNameIndex.put(product);
+        productMenu.reload();
         return mapper.domainToDTO(product);
     }
 
     @Override
+    @Cacheable(cacheNames = ProductCaches.PRODUCT_BY_ID, key = "#id", unless = "#result == null")
     public ProductDTO findProductById(Long id) {
         var product = productRepository.findById(id).orElse(null);
         return mapper.domainToDTO(product);
     }
 
     @Override
+    @Cacheable(cacheNames = ProductCaches.PRODUCTS_BY_CATEGORY, key = "#category")
     public List<ProductDTO> findProductByCategory(Category category) {
         var products = productRepository.findProductByCategory(category);
+        metrics.recordCategoryLoad(category, products.size());
         return mapper.domainToDTOList(products);
     }
 
     @Override
+    public ProductPageDTO findProductPageByCategory(Category category, String cursor, Integer limit) {
+        return findPage(category, cursor, limit,
+                (afterId, size) -> productRepository.findProductPageByCategory(category, afterId, size));
+    }
+
+    // Projections are not cached: each field combination would be its own entry, and the narrow query is cheap.
+    @Override
+    public ProductDTO findProductById(Long id, Set<ProductField> fields) {
+        var products = productRepository.findAll(List.of(id), fields);
+        if (products.isEmpty()) {
+            throw new ProductNotFoundException("Produto com ID " + id + " não encontrado");
+        }
+        return mapper.domainToDTO(products.get(0));
+    }
+
+    @Override
+    public List<ProductDTO> findProductByCategory(Category category, Set<ProductField> fields) {
+        var products = productRepository.findProductByCategory(category, fields);
+        metrics.recordCategoryLoad(category, products.size());
+        return mapper.domainToDTOList(products);
+    }
+
+    @Override
+    public ProductPageDTO findProductPageByCategory(Category category, String cursor, Integer limit, Set<ProductField> fields) {
+        return findPage(category, cursor, limit,
+                (afterId, size) -> productRepository.findProductPageByCategory(category, afterId, size, fields));
+    }
+
+    private ProductPageDTO findPage(Category category, String cursor, Integer limit,
+                                    BiFunction<Long, Integer, List<Product>> pageQuery) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidProductRequestException("O limite deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        long afterId = cursor == null ? 0L : decodeCursor(category, cursor);
+
+        // One extra row tells whether there is a next page without a count query.
+        var products = pageQuery.apply(afterId, pageSize + 1);
+        boolean hasNext = products.size() > pageSize;
+        var page = hasNext ? products.subList(0, pageSize) : products;
+        String next = hasNext ? encodeCursor(category, page.get(page.size() - 1).getId()) : null;
+
+        return new ProductPageDTO(mapper.domainToDTOList(page), next);
+    }
+
+    private String encodeCursor(Category category, Long lastId) {
+        String cursor = category + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeCursor(Category category, String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator < 0 || !decoded.substring(0, separator).equals(category.toString())) {
+                throw new InvalidProductRequestException("Cursor inválido para a categoria " + category);
+            }
+            return Long.parseLong(decoded.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidProductRequestException("Cursor inválido: " + cursor);
+        }
+    }
+
+    // Not cached: free-text queries rarely repeat, and the GIN index keeps each search to a few pages.
+    @Override
+    public List<ProductDTO> searchProducts(String query, Category category, Integer limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidProductRequestException("Informe um termo de busca com até " + MAX_SEARCH_QUERY_LENGTH + " caracteres");
+        }
+        int size = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (size < 1 || size > MAX_SEARCH_LIMIT) {
+            throw new InvalidProductRequestException("O limite deve estar entre 1 e " + MAX_SEARCH_LIMIT);
+        }
+        return mapper.domainToDTOList(productSearchRepository.search(query.trim(), category, size));
+    }
+
+    // The whole menu is kept in memory by ProductMenu and reloaded after every write, so this never waits or queries.
+    @Override
+    public ProductMenuDTO findMenu() {
+        return productMenu.current();
+    }
+
+    // Served by ProductNameIndex from memory; it never reaches the repository.
+    @Override
+    public List<ProductSuggestionDTO> suggestProducts(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidProductRequestException("Informe o início do nome do produto");
+        }
+        int size = limit == null ? DEFAULT_SUGGESTION_LIMIT : limit;
+        if (size < 1 || size > MAX_SUGGESTION_LIMIT) {
+            throw new InvalidProductRequestException("O limite deve estar entre 1 e " + MAX_SUGGESTION_LIMIT);
+        }
+        return productNameIndex.suggest(prefix, size);
+    }
+
+    @Override
+    @Cacheable(cacheNames = ProductCaches.PRODUCT_VERSION_BY_ID, key = "#id")
+    public ProductVersion findProductVersionById(Long id) {
+        return productRepository.findVersionById(id);
+    }
+
+    @Override
+    @Cacheable(cacheNames = ProductCaches.PRODUCT_VERSION_BY_CATEGORY, key = "#category")
+    public ProductVersion findCategoryVersion(Category category) {
+        return productRepository.findVersionByCategory(category);
+    }
+
+    @Override
+    public ProductBatchResponseDTO findProductsByIds(List<Long> ids) {
+        return findBatch(ids, productRepository::findAll);
+    }
+
+    @Override
+    public ProductBatchResponseDTO findProductsByIds(List<Long> ids, Set<ProductField> fields) {
+        return findBatch(ids, distinctIds -> productRepository.findAll(distinctIds, fields));
+    }
+
+    private ProductBatchResponseDTO findBatch(List<Long> ids, Function<List<Long>, List<Product>> batchQuery) {
+        if (ids == null || ids.contains(null)) {
+            throw new InvalidProductRequestException("A lista de IDs não pode ser nula nem conter valores nulos");
+        }
+
+        var distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidProductRequestException("É permitido buscar no máximo " + MAX_BATCH_SIZE + " produtos por requisição");
+        }
+        if (distinctIds.isEmpty()) {
+            return new ProductBatchResponseDTO(List.of(), List.of());
+        }
+
+        Map<Long, Product> productsById = batchQuery.apply(distinctIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<ProductDTO> products = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            var product = productsById.get(id);
+            if (product == null) {
+                missingIds.add(id);
+            } else {
+                products.add(mapper.domainToDTO(product));
+            }
+        }
+        metrics.recordBatchResult(distinctIds.size(), products.size());
+        return new ProductBatchResponseDTO(products, missingIds);
+    }
+
+    @Override
+    public void exportCatalog(Consumer<ProductDTO> consumer) {
+        productExportRepository.forEachProduct(product -> consumer.accept(mapper.domainToDTO(product)));
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ProductCaches.PRODUCTS_BY_CATEGORY, allEntries = true),
+            @CacheEvict(cacheNames = ProductCaches.PRODUCT_VERSION_BY_CATEGORY, allEntries = true)
+    })
+    public ProductImportResultDTO importCatalog(List<ProductDTO> products) {
+        if (products == null || products.size() > MAX_IMPORT_SIZE) {
+            throw new InvalidProductRequestException("É permitido importar no máximo " + MAX_IMPORT_SIZE + " produtos por requisição");
+        }
+
+        List<Product> domainProducts = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            ProductDTO productDTO = products.get(i);
+            validateImportedProduct(productDTO, i + 1);
+            if (productDTO.getImages() == null) {
+                productDTO.setImages(List.of());
+            }
+            if (productDTO.getActive() == null) {
+                productDTO.setActive(true);
+            }
+            domainProducts.add(mapper.DTOtoDomain(productDTO));
+        }
+
+        List<Long> ids = productImportRepository.importProducts(domainProducts);
+        productNameIndex.putAll(domainProducts);
+        productMenu.reload();
+        return new ProductImportResultDTO(ids.size(), ids);
+    }
+
+    private void validateImportedProduct(ProductDTO productDTO, int position) {
+        if (productDTO == null
+                || productDTO.getName() == null || productDTO.getName().isBlank()
+                || productDTO.getPrice() == null || productDTO.getPrice().compareTo(BigDecimal.ZERO) < 0
+                || productDTO.getCategory() == null
+                || (productDTO.getImages() != null && productDTO.getImages().stream().anyMatch(image -> image == null || image.getUrl() == null))) {
+            throw new InvalidProductRequestException("Produto inválido na posição " + position + " da importação");
+        }
+    }
+
+    // The previous category is unknown here and there are only four of them, so every category entry is dropped.
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ProductCaches.PRODUCT_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = ProductCaches.PRODUCT_VERSION_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = ProductCaches.PRODUCTS_BY_CATEGORY, allEntries = true),
+            @CacheEvict(cacheNames = ProductCaches.PRODUCT_VERSION_BY_CATEGORY, allEntries = true)
+    })
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
         var product = productRepository.updateProduct(id, mapper.DTOtoDomain(productDTO));
+        productNameIndex.put(product);
+        productMenu.reload();
         return mapper.domainToDTO(product);
     }
 
+    // No transaction here: ProductRepository.deleteById opens and commits its own. The in-memory views therefore only
+    // drop the product once the disable is committed, as in createProduct and updateProduct, and in virtual-thread
+    // mode the call still goes through the ConnectionLimiter gate instead of arriving with a connection already taken.
     @Override
-    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ProductCaches.PRODUCT_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = ProductCaches.PRODUCT_VERSION_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = ProductCaches.PRODUCTS_BY_CATEGORY, allEntries = true),
+            @CacheEvict(cacheNames = ProductCaches.PRODUCT_VERSION_BY_CATEGORY, allEntries = true)
+    })
     public void disableProductById(Long id) {
         productRepository.deleteById(id);
+        productNameIndex.remove(id);
+        productMenu.reload();
     }
 }
\ No newline at end of file
@@ -1,18 +1,55 @@
 package com.example.fiapsoattechchallengeproductapi.application.usecase;
 
 import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductBatchResponseDTO;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductField;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImportResultDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductMenuDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductPageDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSuggestionDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ProductUseCase {
 
+    int MAX_IMPORT_SIZE = 10_000;
+
     ProductDTO createProduct(ProductDTO productDTO);
 
     ProductDTO findProductById(Long id);
 
     List<ProductDTO> findProductByCategory(Category category);
 
+    ProductPageDTO findProductPageByCategory(Category category, String cursor, Integer limit);
+
+    ProductBatchResponseDTO findProductsByIds(List<Long> ids);
+
+    ProductDTO findProductById(Long id, Set<ProductField> fields);
+
+    List<ProductDTO> findProductByCategory(Category category, Set<ProductField> fields);
+
+    ProductPageDTO findProductPageByCategory(Category category, String cursor, Integer limit, Set<ProductField> fields);
+
+    ProductBatchResponseDTO findProductsByIds(List<Long> ids, Set<ProductField> fields);
+
+    List<ProductDTO> searchProducts(String query, Category category, Integer limit);
+
+    List<ProductSuggestionDTO> suggestProducts(String prefix, Integer limit);
+
+    ProductMenuDTO findMenu();
+
+    ProductVersion findProductVersionById(Long id);
+
+    ProductVersion findCategoryVersion(Category category);
+
+    void exportCatalog(Consumer<ProductDTO> consumer);
+
+    ProductImportResultDTO importCatalog(List<ProductDTO> products);
+
     ProductDTO updateProduct(Long id, ProductDTO productDTO);
 
     void disableProductById(Long id);
@@ -0,0 +1,22 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import java.util.List;
+
+public class ProductBatchRequestDTO {
+    private List<Long> ids;
+
+    public ProductBatchRequestDTO() {
+    }
+
+    public ProductBatchRequestDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import java.util.List;
+
+public class ProductBatchResponseDTO {
+    private List<ProductDTO> products;
+    private List<Long> missingIds;
+
+    public ProductBatchResponseDTO() {
+    }
+
+    public ProductBatchResponseDTO(List<ProductDTO> products, List<Long> missingIds) {
+        this.products = products;
+        this.missingIds = missingIds;
+    }
+
+    public List<ProductDTO> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductDTO> products) {
+        this.products = products;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
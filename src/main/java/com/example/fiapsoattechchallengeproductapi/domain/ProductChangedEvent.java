@@ -0,0 +1,53 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class ProductChangedEvent {
+    private final Long productId;
+    private final Set<Category> categories;
+    // The catalog version the write committed as; null when unknown.
+    private final Long catalogVersion;
+
+    public ProductChangedEvent(Long productId, Set<Category> categories) {
+        this(productId, categories, null);
+    }
+
+    public ProductChangedEvent(Long productId, Set<Category> categories, Long catalogVersion) {
+        this.productId = productId;
+        this.categories = categories.isEmpty() ? EnumSet.noneOf(Category.class) : EnumSet.copyOf(categories);
+        this.catalogVersion = catalogVersion;
+    }
+
+    public static ProductChangedEvent of(Long productId, Category... categories) {
+        Set<Category> affectedCategories = EnumSet.noneOf(Category.class);
+        Collections.addAll(affectedCategories, categories);
+        return new ProductChangedEvent(productId, affectedCategories);
+    }
+
+    // Any product may have changed, e.g. after notifications were missed.
+    public static ProductChangedEvent everything() {
+        return new ProductChangedEvent(null, EnumSet.allOf(Category.class));
+    }
+
+    public ProductChangedEvent withCatalogVersion(long catalogVersion) {
+        return new ProductChangedEvent(productId, categories, catalogVersion);
+    }
+
+    public boolean affectsAllProducts() {
+        return productId == null;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Set<Category> getCategories() {
+        return categories;
+    }
+
+    public Long getCatalogVersion() {
+        return catalogVersion;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import java.util.function.Consumer;
+
+public interface ProductExportRepository {
+
+    void forEachProduct(Consumer<Product> consumer);
+
+    /**
+     * Streams every product like {@link #forEachProduct}, all read from one snapshot, and returns the catalog version
+     * of that snapshot: it includes every write up to that version and none after it.
+     */
+    long forEachProductAtCatalogVersion(Consumer<Product> consumer);
+}
@@ -0,0 +1,69 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import com.example.fiapsoattechchallengeproductapi.exceptions.InvalidProductRequestException;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Product attributes that can be requested through {@code fields=}. The names are the JSON property names of
+ * {@link ProductDTO} and the attribute names of the JPA entity. {@link #IMAGES} is the only one stored outside the
+ * product table.
+ */
+public enum ProductField {
+    ID("id", ProductDTO::getId),
+    NAME("name", ProductDTO::getName),
+    PRICE("price", ProductDTO::getPrice),
+    DESCRIPTION("description", ProductDTO::getDescription),
+    CATEGORY("category", ProductDTO::getCategory),
+    ACTIVE("active", ProductDTO::getActive),
+    IMAGES("images", ProductDTO::getImages),
+    CREATED_AT("createdAt", ProductDTO::getCreatedAt),
+    UPDATED_AT("updatedAt", ProductDTO::getUpdatedAt);
+
+    private final String fieldName;
+    private final Function<ProductDTO, Object> reader;
+
+    ProductField(String fieldName, Function<ProductDTO, Object> reader) {
+        this.fieldName = fieldName;
+        this.reader = reader;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public Object read(ProductDTO product) {
+        return reader.apply(product);
+    }
+
+    /**
+     * Parses a comma separated list such as {@code id,name,price}. Unknown or empty lists are rejected so that a
+     * typo does not silently return an empty object.
+     */
+    public static Set<ProductField> parse(String fields) {
+        Set<ProductField> parsed = EnumSet.noneOf(ProductField.class);
+        if (fields != null) {
+            for (String name : fields.split(",")) {
+                String trimmed = name.trim();
+                if (!trimmed.isEmpty()) {
+                    parsed.add(fromFieldName(trimmed));
+                }
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new InvalidProductRequestException("Informe ao menos um campo em fields");
+        }
+        return parsed;
+    }
+
+    private static ProductField fromFieldName(String name) {
+        for (ProductField field : values()) {
+            if (field.fieldName.equals(name)) {
+                return field;
+            }
+        }
+        throw new InvalidProductRequestException("Campo desconhecido: " + name);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import java.util.List;
+
+public interface ProductImportRepository {
+
+    List<Long> importProducts(List<Product> products);
+}
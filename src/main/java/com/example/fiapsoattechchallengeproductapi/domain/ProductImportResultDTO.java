@@ -0,0 +1,32 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import java.util.List;
+
+public class ProductImportResultDTO {
+    private int imported;
+    private List<Long> ids;
+
+    public ProductImportResultDTO() {
+    }
+
+    public ProductImportResultDTO(int imported, List<Long> ids) {
+        this.imported = imported;
+        this.ids = ids;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
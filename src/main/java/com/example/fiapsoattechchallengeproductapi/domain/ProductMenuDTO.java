@@ -0,0 +1,52 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One menu is handed to every caller until the next write replaces it, so it cannot be changed once built: the
+ * categories and their lists are copied into unmodifiable ones and the products are records. It serializes with the
+ * same fields as {@link ProductDTO}.
+ */
+public final class ProductMenuDTO {
+    private final long version;
+    private final Map<Category, List<Item>> categories;
+
+    public ProductMenuDTO(long version, Map<Category, List<Item>> categories) {
+        Map<Category, List<Item>> copy = new EnumMap<>(Category.class);
+        categories.forEach((category, items) -> copy.put(category, List.copyOf(items)));
+        this.version = version;
+        this.categories = Collections.unmodifiableMap(copy);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<Category, List<Item>> getCategories() {
+        return categories;
+    }
+
+    public record Item(Long id, String name, BigDecimal price, String description, Category category, Boolean active,
+                       List<Image> images, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        public Item {
+            images = images == null ? List.of() : List.copyOf(images);
+        }
+
+        public static Item of(ProductDTO product) {
+            List<Image> images = product.getImages() == null ? List.of() : product.getImages().stream()
+                    .map(image -> new Image(image.getUrl()))
+                    .toList();
+            return new Item(product.getId(), product.getName(), product.getPrice(), product.getDescription(),
+                    product.getCategory(), product.getActive(), images, product.getCreatedAt(), product.getUpdatedAt());
+        }
+    }
+
+    public record Image(String url) {
+    }
+}
@@ -2,6 +2,7 @@ package com.example.fiapsoattechchallengeproductapi.domain;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ProductRepository {
 
@@ -13,6 +14,21 @@ public interface ProductRepository {
 
     List<Product> findProductByCategory(Category category);
 
+    List<Product> findProductPageByCategory(Category category, Long afterId, int limit);
+
+    // Projections: only the requested columns are read and images are loaded only when IMAGES is requested.
+    // Attributes that were not requested are left null.
+
+    List<Product> findAll(List<Long> ids, Set<ProductField> fields);
+
+    List<Product> findProductByCategory(Category category, Set<ProductField> fields);
+
+    List<Product> findProductPageByCategory(Category category, Long afterId, int limit, Set<ProductField> fields);
+
+    ProductVersion findVersionById(Long id);
+
+    ProductVersion findVersionByCategory(Category category);
+
     Product updateProduct(Long id, Product product);
 
     void deleteById(Long id);
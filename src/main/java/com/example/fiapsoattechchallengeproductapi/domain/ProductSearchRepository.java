@@ -0,0 +1,12 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import java.util.List;
+
+public interface ProductSearchRepository {
+
+    /**
+     * Active products matching {@code query} on name or description, best match first. A null category searches
+     * every category.
+     */
+    List<Product> search(String query, Category category, int limit);
+}
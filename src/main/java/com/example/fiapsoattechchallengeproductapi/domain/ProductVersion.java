@@ -0,0 +1,29 @@
+package com.example.fiapsoattechchallengeproductapi.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public class ProductVersion {
+    private final String eTag;
+    private final LocalDateTime lastModified;
+
+    public ProductVersion(String key, LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+        this.eTag = key + "-" + getLastModifiedEpochMillis();
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public long getLastModifiedEpochMillis() {
+        if (lastModified == null) {
+            return -1;
+        }
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
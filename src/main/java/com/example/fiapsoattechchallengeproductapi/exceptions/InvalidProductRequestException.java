@@ -0,0 +1,8 @@
+package com.example.fiapsoattechchallengeproductapi.exceptions;
+
+public class InvalidProductRequestException extends RuntimeException {
+
+    public InvalidProductRequestException(String message) {
+        super(message);
+    }
+}
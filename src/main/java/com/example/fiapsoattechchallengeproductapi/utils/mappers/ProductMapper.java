@@ -6,6 +6,8 @@ import com.example.fiapsoattechchallengeproductapi.domain.*;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 public class ProductMapper {
@@ -15,6 +17,14 @@ public class ProductMapper {
             return null;
         }
 
+        List<JpaProductImageEntity> filteredImages = jpaProductImageEntity.stream()
+                .filter(image -> image.getProductId().equals(jpaProductEntity.getId()))
+                .toList();
+
+        return jpaToDomainWithImages(jpaProductEntity, filteredImages);
+    }
+
+    private Product jpaToDomainWithImages(JpaProductEntity jpaProductEntity, List<JpaProductImageEntity> productImages) {
         Product product = new Product();
         product.setId(jpaProductEntity.getId());
         product.setName(jpaProductEntity.getName());
@@ -24,12 +34,7 @@ public class ProductMapper {
         product.setActive(jpaProductEntity.getActive());
         product.setCreatedAt(jpaProductEntity.getCreatedAt());
         product.setUpdatedAt(jpaProductEntity.getUpdatedAt());
-
-        List<JpaProductImageEntity> filteredImages = jpaProductImageEntity.stream()
-                .filter(image -> image.getProductId().equals(jpaProductEntity.getId()))
-                .toList();
-
-        product.setImages(mapImageJpaToDomainList(filteredImages));
+        product.setImages(mapImageJpaToDomainList(productImages));
         return product;
     }
 
@@ -82,7 +87,7 @@ public class ProductMapper {
         return productImageDTO;
     }
 
-    private List<ProductImage> mapImageJpaToDomainList(List<JpaProductImageEntity> imageEntities) {
+    public List<ProductImage> mapImageJpaToDomainList(List<JpaProductImageEntity> imageEntities) {
         if (imageEntities == null) {
             return null;
         }
@@ -106,7 +111,12 @@ public class ProductMapper {
     }
 
     public List<Product> jpaToDomainList(List<JpaProductEntity> products, List<JpaProductImageEntity> images) {
-        return products.stream().map(product -> jpaToDomain(product, images)).toList();
+        Map<Long, List<JpaProductImageEntity>> imagesByProductId = images.stream()
+                .collect(Collectors.groupingBy(JpaProductImageEntity::getProductId));
+
+        return products.stream()
+                .map(product -> jpaToDomainWithImages(product, imagesByProductId.getOrDefault(product.getId(), List.of())))
+                .toList();
     }
 
     public List<ProductDTO> domainToDTOList(List<Product> products) {
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_product_category_active_id ON product (category, active, id);
@@ -0,0 +1,3 @@
+-- Hibernate's pooled optimizer reserves a block of ids per nextval; the increment must match allocationSize.
+ALTER SEQUENCE product_id_seq INCREMENT BY 50;
+ALTER SEQUENCE product_image_id_seq INCREMENT BY 50;
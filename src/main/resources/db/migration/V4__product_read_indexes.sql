@@ -0,0 +1,6 @@
+-- Single-product and batch (IN) image lookups both filter on product_id; id keeps each product's images in order.
+CREATE INDEX IF NOT EXISTS idx_product_image_product_id ON product_image (product_id, id);
+
+-- Covers the category version query (COUNT, SUM(id), MAX(COALESCE(updated_at, created_at))) so it runs as an
+-- index-only scan over the active rows of one category instead of visiting the heap.
+CREATE INDEX IF NOT EXISTS idx_product_active_category_version ON product (category, id) INCLUDE (created_at, updated_at) WHERE active;
@@ -0,0 +1,22 @@
+-- One row per product with its image urls embedded, so reads are a single-table query. The normalized tables stay
+-- the source of truth; JdbcProductReadModel rebuilds the affected rows from them in the same transaction as every write.
+CREATE TABLE product_read_model (
+                                    id BIGINT PRIMARY KEY,
+                                    name VARCHAR(255) NOT NULL,
+                                    price NUMERIC(19, 2) NOT NULL,
+                                    description TEXT,
+                                    category VARCHAR(255) NOT NULL,
+                                    active BOOLEAN NOT NULL,
+                                    images JSONB NOT NULL DEFAULT '[]'::jsonb,
+                                    created_at TIMESTAMP NOT NULL,
+                                    updated_at TIMESTAMP
+);
+
+-- Category listing and keyset pages only read active rows, in id order.
+CREATE INDEX idx_product_read_model_active_category_id ON product_read_model (category, id) WHERE active;
+
+INSERT INTO product_read_model (id, name, price, description, category, active, images, created_at, updated_at)
+SELECT p.id, p.name, p.price, p.description, p.category, p.active,
+       COALESCE((SELECT jsonb_agg(i.url ORDER BY i.id) FROM product_image i WHERE i.product_id = p.id), '[]'::jsonb),
+       p.created_at, p.updated_at
+FROM product p;
@@ -0,0 +1,10 @@
+-- Full-text search over name and description. The column is generated by Postgres, so every write path (JPA, COPY
+-- import) keeps it current without knowing it exists; name matches weigh more than description matches in ts_rank.
+ALTER TABLE product
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- Only active products are searchable.
+CREATE INDEX idx_product_search_vector ON product USING GIN (search_vector) WHERE active;
@@ -0,0 +1,9 @@
+-- A single row counting committed catalog writes. Every write increments it in its own transaction, so the row lock
+-- makes writers take turns and the values follow commit order; a snapshot that reads it together with product sees
+-- exactly the writes it counts. It starts at 1 so that no loaded catalog shares the version of an empty menu.
+CREATE TABLE product_catalog_version (
+                                         id SMALLINT PRIMARY KEY,
+                                         version BIGINT NOT NULL
+);
+
+INSERT INTO product_catalog_version (id, version) VALUES (1, 1);
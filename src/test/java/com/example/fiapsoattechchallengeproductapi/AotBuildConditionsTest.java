@@ -0,0 +1,42 @@
+package com.example.fiapsoattechchallengeproductapi;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AotBuildConditionsTest {
+
+    @Test
+    void mismatches_WhenRuntimeMatchesTheBuild_ShouldBeEmpty() {
+        Properties buildTime = new Properties();
+        buildTime.setProperty("product.cache.notify.enabled", "true");
+        buildTime.setProperty("product.datasource.replica.enabled", "");
+        buildTime.setProperty("spring.threads.virtual.enabled", "false");
+
+        MockEnvironment runtime = new MockEnvironment()
+                .withProperty("product.cache.notify.enabled", "TRUE")
+                .withProperty("spring.threads.virtual.enabled", "false");
+
+        assertTrue(AotBuildConditions.mismatches(buildTime, runtime).isEmpty());
+    }
+
+    @Test
+    void mismatches_WhenRuntimeSwitchesAConditionalBean_ShouldNameTheProperty() {
+        Properties buildTime = new Properties();
+        buildTime.setProperty("product.cache.notify.enabled", "true");
+        buildTime.setProperty("product.datasource.replica.enabled", "false");
+        buildTime.setProperty("spring.threads.virtual.enabled", "false");
+
+        MockEnvironment runtime = new MockEnvironment()
+                .withProperty("product.cache.notify.enabled", "true")
+                .withProperty("product.datasource.replica.enabled", "false")
+                .withProperty("spring.threads.virtual.enabled", "true");
+
+        assertEquals(List.of("spring.threads.virtual.enabled=true (built with false)"),
+                AotBuildConditions.mismatches(buildTime, runtime));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.inbound;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryResponseCacheTest {
+
+    private ObjectMapper objectMapper;
+    private CategoryResponseCache cache;
+    private AtomicInteger loads;
+    private Supplier<List<ProductDTO>> loader;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        cache = new CategoryResponseCache(objectMapper, true, true);
+
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(1L);
+        productDTO.setName("Pão de Queijo");
+        productDTO.setPrice(new BigDecimal("6.50"));
+        productDTO.setCategory(Category.ACOMPANHAMENTO);
+
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            return List.of(productDTO);
+        };
+    }
+
+    @Test
+    void get_WhenVersionIsUnchanged_ShouldReuseSerializedBytes() {
+        ProductVersion version = new ProductVersion("ACOMPANHAMENTO-1-1", LocalDateTime.of(2025, 1, 10, 12, 0));
+
+        CategoryResponseCache.CachedResponse first = cache.get(Category.ACOMPANHAMENTO, version, loader);
+        CategoryResponseCache.CachedResponse second = cache.get(Category.ACOMPANHAMENTO, version, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenVersionChanges_ShouldRebuildBytes() {
+        ProductVersion version = new ProductVersion("ACOMPANHAMENTO-1-1", LocalDateTime.of(2025, 1, 10, 12, 0));
+        ProductVersion newVersion = new ProductVersion("ACOMPANHAMENTO-1-1", LocalDateTime.of(2025, 1, 10, 13, 0));
+
+        cache.get(Category.ACOMPANHAMENTO, version, loader);
+        CategoryResponseCache.CachedResponse rebuilt = cache.get(Category.ACOMPANHAMENTO, newVersion, loader);
+
+        assertEquals(newVersion.getETag(), rebuilt.getETag());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldStoreJsonAndGzippedCopy() throws Exception {
+        ProductVersion version = new ProductVersion("ACOMPANHAMENTO-1-1", LocalDateTime.of(2025, 1, 10, 12, 0));
+
+        CategoryResponseCache.CachedResponse response = cache.get(Category.ACOMPANHAMENTO, version, loader);
+
+        List<ProductDTO> products = objectMapper.readValue(response.getJson(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, ProductDTO.class));
+        assertEquals("Pão de Queijo", products.get(0).getName());
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getGzippedJson()))) {
+            assertArrayEquals(response.getJson(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void acceptsGzip_ShouldHonorQualityValues() {
+        assertTrue(CategoryResponseCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CategoryResponseCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(CategoryResponseCache.acceptsGzip("*"));
+        assertTrue(CategoryResponseCache.acceptsGzip("x-gzip"));
+
+        assertFalse(CategoryResponseCache.acceptsGzip(null));
+        assertFalse(CategoryResponseCache.acceptsGzip("identity"));
+        assertFalse(CategoryResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(CategoryResponseCache.acceptsGzip("gzip; q=0.000"));
+        assertFalse(CategoryResponseCache.acceptsGzip("identity, *;q=0, gzip;q=0"));
+        assertFalse(CategoryResponseCache.acceptsGzip("*;q=0"));
+        assertFalse(CategoryResponseCache.acceptsGzip("*, gzip;q=0"));
+        assertFalse(CategoryResponseCache.acceptsGzip("gzip;q=abc"));
+    }
+}
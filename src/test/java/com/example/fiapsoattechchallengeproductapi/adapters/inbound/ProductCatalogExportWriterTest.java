@@ -0,0 +1,91 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.inbound;
+
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogExportWriterTest {
+
+    @Mock
+    private ProductUseCase productUseCase;
+
+    private ObjectMapper objectMapper;
+    private ProductCatalogExportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        writer = new ProductCatalogExportWriter(productUseCase, objectMapper);
+
+        ProductDTO first = new ProductDTO();
+        first.setId(1L);
+        first.setName("X-Burger, duplo");
+        first.setPrice(new BigDecimal("25.90"));
+        first.setDescription("Pão, \"blend\" e queijo");
+        first.setCategory(Category.LANCHE);
+        first.setActive(true);
+        first.setImages(List.of(new ProductImageDTO("http://example.com/a.jpg"), new ProductImageDTO("http://example.com/b.jpg")));
+
+        ProductDTO second = new ProductDTO();
+        second.setId(2L);
+        second.setName("Suco");
+        second.setPrice(new BigDecimal("8.00"));
+        second.setCategory(Category.BEBIDA);
+        second.setActive(false);
+        second.setImages(List.of());
+
+        doAnswer(invocation -> {
+            Consumer<ProductDTO> consumer = invocation.getArgument(0);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(productUseCase).exportCatalog(any());
+    }
+
+    @Test
+    void write_WhenNdjson_ShouldWriteOneJsonDocumentPerLine() throws Exception {
+        var output = new ByteArrayOutputStream();
+
+        writer.write(CatalogFormat.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        ProductDTO first = objectMapper.readValue(lines[0], ProductDTO.class);
+        assertEquals(1L, first.getId());
+        assertEquals(2, first.getImages().size());
+        assertEquals(2L, objectMapper.readValue(lines[1], ProductDTO.class).getId());
+    }
+
+    @Test
+    void write_WhenCsv_ShouldEscapeFieldsAndJoinImages() throws Exception {
+        var output = new ByteArrayOutputStream();
+
+        writer.write(CatalogFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(ProductCatalogExportWriter.CSV_HEADER, lines[0]);
+        assertEquals("1,\"X-Burger, duplo\",25.90,\"Pão, \"\"blend\"\" e queijo\",LANCHE,true,,,http://example.com/a.jpg|http://example.com/b.jpg", lines[1]);
+        assertEquals("2,Suco,8.00,,BEBIDA,false,,,", lines[2]);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.inbound;
+
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import com.example.fiapsoattechchallengeproductapi.exceptions.InvalidProductRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCatalogImportReaderTest {
+
+    private ProductCatalogImportReader reader;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        reader = new ProductCatalogImportReader(objectMapper);
+    }
+
+    @Test
+    void read_WhenCsvHasExportLayout_ShouldParseQuotedFieldsAndImages() throws Exception {
+        String csv = ProductCatalogExportWriter.CSV_HEADER + "\n"
+                + "1,\"X-Burger, duplo\",25.90,\"Pão, \"\"blend\"\"\ne queijo\",LANCHE,true,,,http://example.com/a.jpg|http://example.com/b.jpg\n"
+                + "2,Suco,8.00,,BEBIDA,false,,,\n"
+                + "\n";
+
+        List<ProductDTO> products = reader.read(CatalogFormat.CSV, stream(csv));
+
+        assertEquals(2, products.size());
+        ProductDTO first = products.get(0);
+        assertNull(first.getId());
+        assertEquals("X-Burger, duplo", first.getName());
+        assertEquals(new BigDecimal("25.90"), first.getPrice());
+        assertEquals("Pão, \"blend\"\ne queijo", first.getDescription());
+        assertEquals(Category.LANCHE, first.getCategory());
+        assertEquals(List.of("http://example.com/a.jpg", "http://example.com/b.jpg"),
+                first.getImages().stream().map(ProductImageDTO::getUrl).toList());
+
+        ProductDTO second = products.get(1);
+        assertNull(second.getDescription());
+        assertFalse(second.getActive());
+        assertTrue(second.getImages().isEmpty());
+    }
+
+    @Test
+    void read_WhenCsvIsMissingRequiredColumn_ShouldReject() {
+        assertThrows(InvalidProductRequestException.class,
+                () -> reader.read(CatalogFormat.CSV, stream("name,category\nSuco,BEBIDA\n")));
+    }
+
+    @Test
+    void read_WhenCsvHasUnknownCategory_ShouldReject() {
+        assertThrows(InvalidProductRequestException.class,
+                () -> reader.read(CatalogFormat.CSV, stream("name,price,category\nSuco,8.00,PIZZA\n")));
+    }
+
+    @Test
+    void read_WhenNdjson_ShouldParseOneProductPerLine() throws Exception {
+        String ndjson = "{\"name\":\"Suco\",\"price\":8.00,\"category\":\"BEBIDA\",\"images\":[{\"url\":\"http://example.com/s.jpg\"}]}\n"
+                + "\n"
+                + "{\"name\":\"Batata\",\"price\":12.50,\"category\":\"ACOMPANHAMENTO\"}\n";
+
+        List<ProductDTO> products = reader.read(CatalogFormat.NDJSON, stream(ndjson));
+
+        assertEquals(2, products.size());
+        assertEquals("Suco", products.get(0).getName());
+        assertEquals("http://example.com/s.jpg", products.get(0).getImages().get(0).getUrl());
+        assertEquals(Category.ACOMPANHAMENTO, products.get(1).getCategory());
+    }
+
+    @Test
+    void read_WhenNdjsonLineIsMalformed_ShouldReject() {
+        assertThrows(InvalidProductRequestException.class,
+                () -> reader.read(CatalogFormat.NDJSON, stream("{\"name\":\"Suco\"}\n{not json\n")));
+    }
+
+    @Test
+    void read_WhenNdjsonHasMoreThanMaxImportSizeRows_ShouldRejectAtTheFirstExtraRow() {
+        String line = "{\"name\":\"Suco\",\"price\":8.00,\"category\":\"BEBIDA\"}\n";
+        String ndjson = line.repeat(ProductUseCase.MAX_IMPORT_SIZE + 1);
+
+        assertThrows(InvalidProductRequestException.class, () -> reader.read(CatalogFormat.NDJSON, stream(ndjson)));
+    }
+
+    @Test
+    void read_WhenCsvHasMaxImportSizeRows_ShouldAcceptThem() throws Exception {
+        String csv = "name,price,category\n" + "Suco,8.00,BEBIDA\n".repeat(ProductUseCase.MAX_IMPORT_SIZE);
+
+        assertEquals(ProductUseCase.MAX_IMPORT_SIZE, reader.read(CatalogFormat.CSV, stream(csv)).size());
+    }
+
+    @Test
+    void read_WhenCsvHasMoreThanMaxImportSizeRows_ShouldReject() {
+        String csv = "name,price,category\n" + "Suco,8.00,BEBIDA\n".repeat(ProductUseCase.MAX_IMPORT_SIZE + 1);
+
+        assertThrows(InvalidProductRequestException.class, () -> reader.read(CatalogFormat.CSV, stream(csv)));
+    }
+
+    @Test
+    void read_WhenBodyExceedsMaxImportBytes_ShouldRejectWithoutReadingItAll() {
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                return 'a';
+            }
+        };
+
+        assertThrows(InvalidProductRequestException.class, () -> reader.read(CatalogFormat.NDJSON, endless));
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
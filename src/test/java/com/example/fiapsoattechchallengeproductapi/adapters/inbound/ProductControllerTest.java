@@ -2,8 +2,17 @@ package com.example.fiapsoattechchallengeproductapi.adapters.inbound;
 
 import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
 import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductBatchRequestDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductBatchResponseDTO;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductField;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImportResultDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductMenuDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductPageDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSuggestionDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
+import com.example.fiapsoattechchallengeproductapi.exceptions.InvalidProductRequestException;
 import com.example.fiapsoattechchallengeproductapi.exceptions.ProductNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -13,16 +22,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -40,11 +56,22 @@ public class ProductControllerTest {
     @Mock
     private ProductUseCase productUseCase;
 
+    @Mock
+    private CategoryResponseCache categoryResponseCache;
+
+    @Mock
+    private ProductCatalogExportWriter productCatalogExportWriter;
+
+    @Mock
+    private ProductCatalogImportReader productCatalogImportReader;
+
     @InjectMocks
     private ProductController productController;
 
     private ProductDTO productDTO;
     private List<ProductDTO> productDTOList;
+    private ProductVersion productVersion;
+    private ProductVersion categoryVersion;
 
     @BeforeEach
     void setUp() {
@@ -78,6 +105,9 @@ public class ProductControllerTest {
         productDTO2.setImages(Collections.singletonList(imageDTO));
 
         productDTOList = Arrays.asList(productDTO, productDTO2);
+
+        productVersion = new ProductVersion("1", LocalDateTime.of(2025, 1, 10, 12, 0));
+        categoryVersion = new ProductVersion("LANCHE-2-3", LocalDateTime.of(2025, 1, 10, 12, 0));
     }
 
     @Test
@@ -100,10 +130,13 @@ public class ProductControllerTest {
 
     @Test
     void findProductById_WhenProductExists_ShouldReturnProduct() throws Exception {
+        when(productUseCase.findProductVersionById(1L)).thenReturn(productVersion);
         when(productUseCase.findProductById(1L)).thenReturn(productDTO);
 
         mockMvc.perform(get("/product/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + productVersion.getETag() + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("Test Product"))
                 .andExpect(jsonPath("$.price").value(10.99))
@@ -116,16 +149,41 @@ public class ProductControllerTest {
 
     @Test
     void findProductById_WhenProductDoesNotExist_ShouldReturnNotFound() throws Exception {
-        when(productUseCase.findProductById(99L)).thenThrow(new ProductNotFoundException("Product not found"));
+        when(productUseCase.findProductVersionById(99L)).thenThrow(new ProductNotFoundException("Product not found"));
 
         mockMvc.perform(get("/product/99"))
                 .andExpect(status().isNotFound());
 
-        verify(productUseCase, times(1)).findProductById(99L);
+        verify(productUseCase, times(1)).findProductVersionById(99L);
+        verify(productUseCase, never()).findProductById(99L);
+    }
+
+    @Test
+    void findProductById_WhenETagMatches_ShouldReturnNotModifiedWithoutLoadingProduct() throws Exception {
+        when(productUseCase.findProductVersionById(1L)).thenReturn(productVersion);
+
+        mockMvc.perform(get("/product/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + productVersion.getETag() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productUseCase, never()).findProductById(anyLong());
+    }
+
+    @Test
+    void findProductById_WhenNotModifiedSince_ShouldReturnNotModified() throws Exception {
+        when(productUseCase.findProductVersionById(1L)).thenReturn(productVersion);
+
+        mockMvc.perform(get("/product/1")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, productVersion.getLastModifiedEpochMillis() + 1000))
+                .andExpect(status().isNotModified());
+
+        verify(productUseCase, never()).findProductById(anyLong());
     }
 
     @Test
     void findProductByCategory_WhenProductsExist_ShouldReturnProducts() throws Exception {
+        when(productUseCase.findCategoryVersion(Category.LANCHE)).thenReturn(categoryVersion);
         when(productUseCase.findProductByCategory(Category.LANCHE)).thenReturn(productDTOList);
 
         mockMvc.perform(get("/product?category=LANCHE"))
@@ -142,6 +200,7 @@ public class ProductControllerTest {
 
     @Test
     void findProductByCategory_WhenNoProductsExist_ShouldReturnNotFound() throws Exception {
+        when(productUseCase.findCategoryVersion(Category.SOBREMESA)).thenReturn(categoryVersion);
         when(productUseCase.findProductByCategory(Category.SOBREMESA)).thenThrow(new ProductNotFoundException("No products found"));
 
         mockMvc.perform(get("/product?category=SOBREMESA"))
@@ -150,6 +209,273 @@ public class ProductControllerTest {
         verify(productUseCase, times(1)).findProductByCategory(Category.SOBREMESA);
     }
 
+    @Test
+    void findProductByCategory_WhenResponseCacheEnabled_ShouldWriteCachedBytes() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(productDTOList);
+        when(productUseCase.findCategoryVersion(Category.LANCHE)).thenReturn(categoryVersion);
+        when(categoryResponseCache.isEnabled()).thenReturn(true);
+        when(categoryResponseCache.get(eq(Category.LANCHE), eq(categoryVersion), any()))
+                .thenReturn(new CategoryResponseCache.CachedResponse(categoryVersion.getETag(), json, null));
+
+        mockMvc.perform(get("/product?category=LANCHE"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(2));
+
+        verify(productUseCase, never()).findProductByCategory(any());
+    }
+
+    @Test
+    void findProductByCategory_WhenGzipIsRefusedWithZeroQuality_ShouldWritePlainJson() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(productDTOList);
+        when(productUseCase.findCategoryVersion(Category.LANCHE)).thenReturn(categoryVersion);
+        when(categoryResponseCache.isEnabled()).thenReturn(true);
+        when(categoryResponseCache.get(eq(Category.LANCHE), eq(categoryVersion), any()))
+                .thenReturn(new CategoryResponseCache.CachedResponse(categoryVersion.getETag(), json, new byte[]{31, -117}));
+
+        mockMvc.perform(get("/product?category=LANCHE")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "identity, *;q=0, gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void findProductByCategory_WhenGzipIsAccepted_ShouldWriteGzippedBytes() throws Exception {
+        byte[] gzipped = {31, -117, 8, 0};
+        when(productUseCase.findCategoryVersion(Category.LANCHE)).thenReturn(categoryVersion);
+        when(categoryResponseCache.isEnabled()).thenReturn(true);
+        when(categoryResponseCache.get(eq(Category.LANCHE), eq(categoryVersion), any()))
+                .thenReturn(new CategoryResponseCache.CachedResponse(categoryVersion.getETag(), new byte[]{'[', ']'}, gzipped));
+
+        mockMvc.perform(get("/product?category=LANCHE")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(gzipped));
+    }
+
+    @Test
+    void findProductByCategory_WhenETagMatches_ShouldReturnNotModifiedWithoutLoadingProducts() throws Exception {
+        when(productUseCase.findCategoryVersion(Category.LANCHE)).thenReturn(categoryVersion);
+
+        mockMvc.perform(get("/product?category=LANCHE")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + categoryVersion.getETag() + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(productUseCase, never()).findProductByCategory(any());
+    }
+
+    @Test
+    void findProductPageByCategory_ShouldReturnItemsAndNextCursor() throws Exception {
+        when(productUseCase.findProductPageByCategory(Category.LANCHE, "abc", 2))
+                .thenReturn(new ProductPageDTO(productDTOList, "def"));
+
+        mockMvc.perform(get("/product/page?category=LANCHE&cursor=abc&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.next").value("def"));
+    }
+
+    @Test
+    void findProductPageByCategory_WhenCursorIsInvalid_ShouldReturnBadRequest() throws Exception {
+        when(productUseCase.findProductPageByCategory(Category.LANCHE, "bad", null))
+                .thenThrow(new InvalidProductRequestException("Invalid cursor"));
+
+        mockMvc.perform(get("/product/page?category=LANCHE&cursor=bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchProducts_ShouldReturnRankedProducts() throws Exception {
+        when(productUseCase.searchProducts("queijo", Category.LANCHE, 5)).thenReturn(productDTOList);
+
+        mockMvc.perform(get("/product/search?q=queijo&category=LANCHE&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    void searchProducts_WhenQueryIsBlank_ShouldReturnBadRequest() throws Exception {
+        when(productUseCase.searchProducts(" ", null, null))
+                .thenThrow(new InvalidProductRequestException("Empty query"));
+
+        mockMvc.perform(get("/product/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findMenu_ShouldReturnVersionAndProductsByCategory() throws Exception {
+        when(productUseCase.findMenu()).thenReturn(new ProductMenuDTO(3, Map.of(Category.LANCHE, productDTOList.stream().map(ProductMenuDTO.Item::of).toList())));
+
+        mockMvc.perform(get("/product/menu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3))
+                .andExpect(jsonPath("$.categories.LANCHE[0].id").value(1))
+                .andExpect(jsonPath("$.categories.LANCHE[1].id").value(2));
+    }
+
+    @Test
+    void suggestProducts_ShouldReturnIdsAndNames() throws Exception {
+        when(productUseCase.suggestProducts("tes", null)).thenReturn(List.of(new ProductSuggestionDTO(1L, "Test Product")));
+
+        mockMvc.perform(get("/product/suggest?prefix=tes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Test Product"));
+    }
+
+    @Test
+    void exportCatalog_ShouldStreamRequestedFormat() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("id,name\n1,Test Product\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(productCatalogExportWriter).write(eq(CatalogFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/product/export?format=CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.csv\""))
+                .andExpect(content().string("id,name\n1,Test Product\n"));
+    }
+
+    @Test
+    void importCatalog_ShouldImportParsedProducts() throws Exception {
+        when(productCatalogImportReader.read(eq(CatalogFormat.CSV), any(InputStream.class))).thenReturn(productDTOList);
+        when(productUseCase.importCatalog(productDTOList)).thenReturn(new ProductImportResultDTO(2, List.of(10L, 11L)));
+
+        mockMvc.perform(post("/product/import?format=CSV")
+                .contentType("text/csv")
+                .content("name,price,category\nTest Product,10.99,LANCHE\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.ids[0]").value(10))
+                .andExpect(jsonPath("$.ids[1]").value(11));
+    }
+
+    @Test
+    void importCatalog_WhenInputIsInvalid_ShouldReturnBadRequest() throws Exception {
+        when(productCatalogImportReader.read(eq(CatalogFormat.NDJSON), any(InputStream.class)))
+                .thenThrow(new InvalidProductRequestException("JSON inválido na linha 1"));
+
+        mockMvc.perform(post("/product/import")
+                .contentType("application/x-ndjson")
+                .content("{not json"))
+                .andExpect(status().isBadRequest());
+
+        verify(productUseCase, never()).importCatalog(any());
+    }
+
+    @Test
+    void findProductsByIds_ShouldReturnFoundProductsAndMissingIds() throws Exception {
+        when(productUseCase.findProductsByIds(List.of(2L, 99L, 1L)))
+                .thenReturn(new ProductBatchResponseDTO(List.of(productDTOList.get(1), productDTO), List.of(99L)));
+
+        mockMvc.perform(post("/product/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductBatchRequestDTO(List.of(2L, 99L, 1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(2))
+                .andExpect(jsonPath("$.products[1].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(99));
+
+        verify(productUseCase, times(1)).findProductsByIds(List.of(2L, 99L, 1L));
+    }
+
+    @Test
+    void findProductsByIds_WhenRequestIsInvalid_ShouldReturnBadRequest() throws Exception {
+        when(productUseCase.findProductsByIds(any())).thenThrow(new InvalidProductRequestException("Too many ids"));
+
+        mockMvc.perform(post("/product/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductBatchRequestDTO(List.of(1L)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findProductById_WithFields_ShouldReturnOnlyRequestedFields() throws Exception {
+        var fields = EnumSet.of(ProductField.ID, ProductField.NAME, ProductField.PRICE);
+        when(productUseCase.findProductVersionById(1L)).thenReturn(productVersion);
+        when(productUseCase.findProductById(1L, fields)).thenReturn(productDTO);
+
+        mockMvc.perform(get("/product/1?fields=id,name,price"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.name").value("Test Product"))
+                .andExpect(jsonPath("$.price").value(10.99))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.images").doesNotExist());
+
+        verify(productUseCase, never()).findProductById(1L);
+    }
+
+    @Test
+    void findProductById_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/product/1?fields=id,sku"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productUseCase);
+    }
+
+    @Test
+    void findProductByCategory_WithFields_ShouldUseProjectionInsteadOfResponseCache() throws Exception {
+        var fields = EnumSet.of(ProductField.ID, ProductField.NAME, ProductField.PRICE, ProductField.ACTIVE);
+        when(productUseCase.findCategoryVersion(Category.LANCHE)).thenReturn(categoryVersion);
+        when(productUseCase.findProductByCategory(Category.LANCHE, fields)).thenReturn(productDTOList);
+
+        mockMvc.perform(get("/product?category=LANCHE&fields=id,name,price,active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].active").value(true))
+                .andExpect(jsonPath("$[0].category").doesNotExist())
+                .andExpect(jsonPath("$[1].name").value("Test Product 2"));
+
+        verifyNoInteractions(categoryResponseCache);
+        verify(productUseCase, never()).findProductByCategory(Category.LANCHE);
+    }
+
+    @Test
+    void findProductPageByCategory_WithFields_ShouldReturnSparseItems() throws Exception {
+        var fields = EnumSet.of(ProductField.ID, ProductField.IMAGES);
+        when(productUseCase.findProductPageByCategory(Category.LANCHE, null, 2, fields))
+                .thenReturn(new ProductPageDTO(productDTOList, "def"));
+
+        mockMvc.perform(get("/product/page?category=LANCHE&limit=2&fields=images,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].images[0].url").value("http://example.com/image.jpg"))
+                .andExpect(jsonPath("$.items[0].name").doesNotExist())
+                .andExpect(jsonPath("$.next").value("def"));
+    }
+
+    @Test
+    void findProductsByIds_WithFields_ShouldReturnSparseProductsAndMissingIds() throws Exception {
+        var fields = EnumSet.of(ProductField.ID, ProductField.PRICE);
+        when(productUseCase.findProductsByIds(List.of(1L, 99L), fields))
+                .thenReturn(new ProductBatchResponseDTO(List.of(productDTO), List.of(99L)));
+
+        mockMvc.perform(post("/product/batch?fields=id,price")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductBatchRequestDTO(List.of(1L, 99L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(1))
+                .andExpect(jsonPath("$.products[0].price").value(10.99))
+                .andExpect(jsonPath("$.products[0].name").doesNotExist())
+                .andExpect(jsonPath("$.missingIds[0]").value(99));
+
+        verify(productUseCase, never()).findProductsByIds(any());
+    }
+
     @Test
     void updateProduct_ShouldReturnUpdatedProduct() throws Exception {
         ProductDTO updatedProductDTO = new ProductDTO();
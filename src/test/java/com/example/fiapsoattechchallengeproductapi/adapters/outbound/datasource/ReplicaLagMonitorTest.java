@@ -0,0 +1,131 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.datasource;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @Mock
+    private Clock clock;
+
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ReplicaLagMonitor(replicaJdbcTemplate, Duration.ofSeconds(5), true, clock);
+    }
+
+    @Test
+    void isReplicaUsable_BeforeFirstCheck_ShouldUsePrimary() {
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void isReplicaUsable_WhenLagIsWithinLimit_ShouldUseReplica() {
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(1200.0);
+        when(clock.instant()).thenReturn(NOW);
+
+        monitor.checkReplica();
+
+        assertTrue(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void isReplicaUsable_WhenLagExceedsLimit_ShouldFallBackToPrimary() {
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(1200.0, 8000.0);
+        when(clock.instant()).thenReturn(NOW);
+
+        monitor.checkReplica();
+        assertTrue(monitor.isReplicaUsable());
+
+        monitor.checkReplica();
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void isReplicaUsable_WhenReplicaIsUnreachable_ShouldFallBackToPrimary() {
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        monitor.checkReplica();
+
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void isReplicaUsable_AfterProductChange_ShouldUsePrimaryForMaxLag() {
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(0.0);
+        monitor.checkReplica();
+
+        when(clock.instant()).thenReturn(NOW);
+        monitor.onProductChanged(ProductChangedEvent.of(1L, Category.LANCHE));
+        assertFalse(monitor.isReplicaUsable());
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(5));
+        assertTrue(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void isReplicaUsable_WhenFallbackIsDisabled_ShouldAlwaysUseReplica() {
+        monitor = new ReplicaLagMonitor(replicaJdbcTemplate, Duration.ofSeconds(5), false, clock);
+
+        assertTrue(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void onProductChanged_ShouldRunBeforeListenersThatReadTheChangedProduct() {
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(0.0);
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60), NOW.plusSeconds(60), NOW.plusSeconds(61));
+        monitor.checkReplica();
+        assertTrue(monitor.isReplicaUsable());
+
+        try (var context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(ReadingListener.class, () -> new ReadingListener(monitor));
+            context.registerBean(ReplicaLagMonitor.class, () -> monitor);
+            context.refresh();
+
+            context.publishEvent(ProductChangedEvent.of(1L, Category.LANCHE));
+
+            assertEquals(List.of(false), context.getBean(ReadingListener.class).replicaUsableOnEvent);
+        }
+    }
+
+    static class ReadingListener {
+
+        private final ReplicaLagMonitor monitor;
+        private final List<Boolean> replicaUsableOnEvent = new ArrayList<>();
+
+        ReadingListener(ReplicaLagMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        @EventListener
+        public void onProductChanged(ProductChangedEvent event) {
+            replicaUsableOnEvent.add(monitor.isReplicaUsable());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.datasource;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes through the real datasource wiring. The "replica" only has to be a second database on any Postgres, e.g.
+ * {@code jdbc:postgresql://localhost:5432/product_replica_test}: it is told apart from the primary by
+ * {@code current_database()}, and a server that is not in recovery reports no lag.
+ */
+@SpringBootTest(properties = {
+        "product.datasource.replica.enabled=true",
+        "product.datasource.replica.jdbc-url=${POSTGRES_TEST_REPLICA_URL}",
+        "product.datasource.replica.username=${POSTGRES_TEST_USERNAME:postgres}",
+        "product.datasource.replica.password=${POSTGRES_TEST_PASSWORD:postgres}",
+        "product.datasource.replica.max-lag=500ms",
+        "product.datasource.replica.lag-check-interval=100ms"
+})
+@ActiveProfiles("postgres-test")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_TEST_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_TEST_REPLICA_URL", matches = ".+")
+class ReplicaRoutingPostgresTest {
+
+    private static final String CURRENT_DATABASE = "SELECT current_database()";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private String primaryDatabase;
+    private String replicaDatabase;
+
+    @BeforeEach
+    void setUp() {
+        primaryDatabase = new JdbcTemplate(primaryDataSource).queryForObject(CURRENT_DATABASE, String.class);
+        replicaDatabase = new JdbcTemplate(replicaDataSource).queryForObject(CURRENT_DATABASE, String.class);
+        assertNotEquals(primaryDatabase, replicaDatabase, "POSTGRES_TEST_REPLICA_URL must name another database");
+    }
+
+    @Test
+    void readOnlyTransaction_WhileReplicaIsUsable_ShouldUseTheReplica() {
+        awaitReplicaUsable();
+
+        assertEquals(replicaDatabase, databaseIn(true));
+    }
+
+    @Test
+    void writeTransaction_ShouldUseThePrimary() {
+        awaitReplicaUsable();
+
+        assertEquals(primaryDatabase, databaseIn(false));
+    }
+
+    @Test
+    void readOnlyTransaction_RightAfterAProductChange_ShouldFallBackToThePrimary() {
+        awaitReplicaUsable();
+
+        eventPublisher.publishEvent(ProductChangedEvent.of(1L, Category.LANCHE));
+
+        assertEquals(primaryDatabase, databaseIn(true));
+        awaitReplicaUsable();
+        assertEquals(replicaDatabase, databaseIn(true));
+    }
+
+    private String databaseIn(boolean readOnly) {
+        var transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject(CURRENT_DATABASE, String.class));
+    }
+
+    // The first lag check runs on the scheduler shortly after startup, and a product change holds reads on the
+    // primary for max-lag.
+    private void awaitReplicaUsable() {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (!replicaLagMonitor.isReplicaUsable()) {
+            assertTrue(Instant.now().isBefore(deadline), "replica never became usable");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
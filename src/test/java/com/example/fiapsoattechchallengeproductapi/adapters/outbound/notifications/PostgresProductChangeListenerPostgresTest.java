@@ -0,0 +1,116 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications;
+
+import com.example.fiapsoattechchallengeproductapi.application.service.ProductCaches;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends real notifications through Postgres and checks what the listener evicts; see
+ * application-postgres-test.properties.
+ */
+@SpringBootTest(properties = "product.cache.notify.enabled=true")
+@ActiveProfiles("postgres-test")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_TEST_URL", matches = ".+")
+class PostgresProductChangeListenerPostgresTest {
+
+    private static final String TERMINATE_LISTENER = """
+            SELECT pg_terminate_backend(pid) FROM pg_stat_activity
+            WHERE datname = current_database() AND query = 'LISTEN %s' AND pid <> pg_backend_pid()
+            """.formatted(ProductChangePayload.CHANNEL);
+
+    @Autowired
+    private PostgresProductChangeNotifier notifier;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cache productById;
+    private Cache productsByCategory;
+
+    @BeforeEach
+    void setUp() {
+        productById = cacheManager.getCache(ProductCaches.PRODUCT_BY_ID);
+        productsByCategory = cacheManager.getCache(ProductCaches.PRODUCTS_BY_CATEGORY);
+        productById.clear();
+        productsByCategory.clear();
+        awaitListening();
+    }
+
+    @Test
+    void notifyChange_ShouldEvictTheProductAndItsCategoryOnceCommitted() {
+        productById.put(-1L, "changed");
+        productById.put(-2L, "untouched");
+        productsByCategory.put(Category.LANCHE, List.of());
+        productsByCategory.put(Category.BEBIDA, List.of());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            notifier.notifyChange(ProductChangedEvent.of(-1L, Category.LANCHE));
+            pause(Duration.ofMillis(500));
+            assertNotNull(productById.get(-1L), "evicted before the transaction committed");
+        });
+
+        await(() -> productById.get(-1L) == null && productsByCategory.get(Category.LANCHE) == null);
+        assertNotNull(productById.get(-2L));
+        assertNotNull(productsByCategory.get(Category.BEBIDA));
+    }
+
+    @Test
+    void reconnect_ShouldEvictEverything() {
+        productById.put(-3L, "cached before the disconnect");
+        productsByCategory.put(Category.SOBREMESA, List.of());
+
+        assertEquals(1, jdbcTemplate.queryForList(TERMINATE_LISTENER).size());
+
+        await(() -> productById.get(-3L) == null && productsByCategory.get(Category.SOBREMESA) == null);
+    }
+
+    // The listener runs on its own thread; wait until its LISTEN connection is open before sending anything.
+    private void awaitListening() {
+        await(() -> jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM pg_stat_activity
+                WHERE datname = current_database() AND query = 'LISTEN %s'
+                """.formatted(ProductChangePayload.CHANNEL), Integer.class) > 0);
+    }
+
+    // The listener waits 5 s before reconnecting, so allow for more than that.
+    private static void await(BooleanSupplier condition) {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(20));
+        while (!condition.getAsBoolean()) {
+            assertTrue(Instant.now().isBefore(deadline), "condition not met in time");
+            pause(Duration.ofMillis(50));
+        }
+    }
+
+    private static void pause(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+    }
+}
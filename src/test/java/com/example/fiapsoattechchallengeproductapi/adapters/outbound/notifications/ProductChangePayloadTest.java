@@ -0,0 +1,60 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductChangePayloadTest {
+
+    @Test
+    void encodeAndDecode_ShouldKeepProductIdAndCategories() {
+        ProductChangedEvent event = ProductChangedEvent.of(42L, Category.LANCHE, Category.BEBIDA);
+
+        ProductChangedEvent decoded = ProductChangePayload.decode(ProductChangePayload.encode(event));
+
+        assertEquals(42L, decoded.getProductId());
+        assertEquals(Set.of(Category.LANCHE, Category.BEBIDA), decoded.getCategories());
+        assertNull(decoded.getCatalogVersion());
+    }
+
+    @Test
+    void encodeAndDecode_ShouldKeepCatalogVersion() {
+        ProductChangedEvent event = ProductChangedEvent.of(42L, Category.LANCHE).withCatalogVersion(17L);
+
+        ProductChangedEvent decoded = ProductChangePayload.decode(ProductChangePayload.encode(event));
+
+        assertEquals(42L, decoded.getProductId());
+        assertEquals(Set.of(Category.LANCHE), decoded.getCategories());
+        assertEquals(17L, decoded.getCatalogVersion());
+    }
+
+    @Test
+    void decode_WhenPayloadHasNoVersion_ShouldLeaveItUnknown() {
+        ProductChangedEvent decoded = ProductChangePayload.decode("42:LANCHE");
+
+        assertEquals(42L, decoded.getProductId());
+        assertEquals(Set.of(Category.LANCHE), decoded.getCategories());
+        assertNull(decoded.getCatalogVersion());
+    }
+
+    @Test
+    void encodeAndDecode_WhenEventAffectsEverything_ShouldKeepAllCategories() {
+        ProductChangedEvent decoded = ProductChangePayload.decode(ProductChangePayload.encode(ProductChangedEvent.everything()));
+
+        assertTrue(decoded.affectsAllProducts());
+        assertEquals(EnumSet.allOf(Category.class), decoded.getCategories());
+    }
+
+    @Test
+    void decode_WhenPayloadHasNoSeparator_ShouldAffectEverything() {
+        ProductChangedEvent decoded = ProductChangePayload.decode("garbage");
+
+        assertTrue(decoded.affectsAllProducts());
+        assertEquals(EnumSet.allOf(Category.class), decoded.getCategories());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitedProductRepositoryTest {
+
+    @Mock
+    private ProductRepositoryImpl delegate;
+
+    private ConnectionLimiter limiter;
+
+    private ConnectionLimitedProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new ConnectionLimiter(1, 1, null, 50);
+        repository = new ConnectionLimitedProductRepository(delegate, limiter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void findProductByCategory_ShouldDelegateAndReleasePermit() {
+        Product product = new Product();
+        when(delegate.findProductByCategory(Category.LANCHE)).thenReturn(List.of(product));
+
+        assertEquals(List.of(product), repository.findProductByCategory(Category.LANCHE));
+        assertEquals(1, limiter.availablePrimaryPermits());
+    }
+
+    @Test
+    void deleteById_WhenDelegateFails_ShouldReleasePermit() {
+        doThrow(new IllegalStateException("boom")).when(delegate).deleteById(1L);
+
+        assertThrows(IllegalStateException.class, () -> repository.deleteById(1L));
+        assertEquals(1, limiter.availablePrimaryPermits());
+    }
+
+    @Test
+    void findById_WhenPoolIsExhausted_ShouldTimeOutWaitingForPermit() {
+        when(delegate.findById(1L)).thenAnswer(invocation -> {
+            assertThrows(TransientDataAccessResourceException.class, () -> repository.findVersionById(2L));
+            return Optional.of(new Product());
+        });
+
+        assertTrue(repository.findById(1L).isPresent());
+        verify(delegate, never()).findVersionById(2L);
+        assertEquals(1, limiter.availablePrimaryPermits());
+    }
+
+    @Test
+    void findVersionById_InsideTransaction_ShouldNotWaitForPermit() {
+        ProductVersion version = new ProductVersion("2", LocalDateTime.now());
+        when(delegate.findVersionById(2L)).thenReturn(version);
+        when(delegate.findById(1L)).thenAnswer(invocation -> {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            assertSame(version, repository.findVersionById(2L));
+            return Optional.of(new Product());
+        });
+
+        assertTrue(repository.findById(1L).isPresent());
+        assertEquals(1, limiter.availablePrimaryPermits());
+    }
+}
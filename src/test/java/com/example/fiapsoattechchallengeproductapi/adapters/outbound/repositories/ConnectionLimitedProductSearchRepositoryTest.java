@@ -0,0 +1,56 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitedProductSearchRepositoryTest {
+
+    @Mock
+    private PostgresProductSearchRepository delegate;
+
+    private ConnectionLimiter limiter;
+
+    private ConnectionLimitedProductSearchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new ConnectionLimiter(1, 1, null, 50);
+        repository = new ConnectionLimitedProductSearchRepository(delegate, limiter);
+    }
+
+    @Test
+    void search_ShouldHoldAPermitWhileTheDelegateRuns() {
+        Product product = new Product();
+        when(delegate.search("queijo", Category.LANCHE, 10)).thenAnswer(invocation -> {
+            assertEquals(0, limiter.availablePrimaryPermits());
+            return List.of(product);
+        });
+
+        assertEquals(List.of(product), repository.search("queijo", Category.LANCHE, 10));
+        assertEquals(1, limiter.availablePrimaryPermits());
+    }
+
+    @Test
+    void search_WhenPoolIsExhausted_ShouldTimeOutWaitingForPermit() {
+        when(delegate.search("queijo", null, 10)).thenAnswer(invocation -> {
+            assertThrows(TransientDataAccessResourceException.class, () -> repository.search("bacon", null, 10));
+            return List.of();
+        });
+
+        assertTrue(repository.search("queijo", null, 10).isEmpty());
+        verify(delegate, never()).search("bacon", null, 10);
+        assertEquals(1, limiter.availablePrimaryPermits());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.datasource.ReplicaLagMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimiterTest {
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private ConnectionLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new ConnectionLimiter(2, 3, lagMonitor, 50);
+    }
+
+    @Test
+    void read_WhileReplicaIsUsable_ShouldTakeAReplicaPermit() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        limiter.read(() -> {
+            assertEquals(2, limiter.availableReplicaPermits());
+            assertEquals(2, limiter.availablePrimaryPermits());
+            return null;
+        });
+
+        assertEquals(3, limiter.availableReplicaPermits());
+    }
+
+    @Test
+    void read_WhenReadsFallBackToPrimary_ShouldTakeAPrimaryPermit() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        limiter.read(() -> {
+            assertEquals(3, limiter.availableReplicaPermits());
+            assertEquals(1, limiter.availablePrimaryPermits());
+            return null;
+        });
+
+        assertEquals(2, limiter.availablePrimaryPermits());
+    }
+
+    @Test
+    void write_ShouldAlwaysTakeAPrimaryPermit() {
+        limiter.write(() -> {
+            assertEquals(1, limiter.availablePrimaryPermits());
+            return null;
+        });
+
+        verifyNoInteractions(lagMonitor);
+    }
+
+    @Test
+    void read_WhenReplicaPoolIsExhausted_ShouldNotBorrowPrimaryPermits() {
+        limiter = new ConnectionLimiter(1, 1, lagMonitor, 50);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        limiter.read(() -> {
+            assertThrows(TransientDataAccessResourceException.class, () -> limiter.read(() -> null));
+            assertEquals(1, limiter.availablePrimaryPermits());
+            return null;
+        });
+    }
+
+    @Test
+    void read_WithoutReplica_ShouldTakeAPrimaryPermit() {
+        limiter = new ConnectionLimiter(1, 1, null, 50);
+
+        limiter.read(() -> {
+            assertEquals(0, limiter.availablePrimaryPermits());
+            return null;
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductPageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the read model's REFRESH and read queries against the Flyway schema; see application-postgres-test.properties.
+ */
+@SpringBootTest(properties = "product.repository.read-mode=read-model")
+@ActiveProfiles("postgres-test")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_TEST_URL", matches = ".+")
+@Transactional
+class JdbcProductReadModelPostgresTest {
+
+    @Autowired
+    private ProductUseCase productUseCase;
+
+    @Autowired
+    private JdbcProductReadModel readModel;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        clearCaches();
+    }
+
+    @Test
+    void readMode_ShouldMaintainTheModelWithoutTheSwitchBeingSet() {
+        assertTrue(readModel.isMaintained());
+        assertTrue(readModel.servesReads());
+    }
+
+    @Test
+    void createProduct_ShouldWriteTheRowWithImagesInOrder() {
+        Long id = productUseCase.createProduct(product("Read Model Create", Category.LANCHE, 3)).getId();
+
+        String images = jdbcTemplate.queryForObject("SELECT images::text FROM product_read_model WHERE id = ?", String.class, id);
+        assertEquals("[\"http://example.com/Read-Model-Create-1.jpg\", \"http://example.com/Read-Model-Create-2.jpg\", "
+                + "\"http://example.com/Read-Model-Create-3.jpg\"]", images);
+
+        clearCaches();
+        ProductDTO found = productUseCase.findProductById(id);
+        assertEquals("Read Model Create", found.getName());
+        assertEquals(List.of("http://example.com/Read-Model-Create-1.jpg", "http://example.com/Read-Model-Create-2.jpg",
+                "http://example.com/Read-Model-Create-3.jpg"), found.getImages().stream().map(ProductImageDTO::getUrl).toList());
+    }
+
+    @Test
+    void updateProduct_ShouldRefreshTheRow() {
+        Long id = productUseCase.createProduct(product("Read Model Before", Category.LANCHE, 2)).getId();
+
+        productUseCase.updateProduct(id, product("Read Model After", Category.SOBREMESA, 1));
+        clearCaches();
+
+        ProductDTO found = productUseCase.findProductById(id);
+        assertEquals("Read Model After", found.getName());
+        assertEquals(Category.SOBREMESA, found.getCategory());
+        assertEquals(List.of("http://example.com/Read-Model-After-1.jpg"), found.getImages().stream().map(ProductImageDTO::getUrl).toList());
+        assertTrue(ids(productUseCase.findProductByCategory(Category.SOBREMESA)).contains(id));
+        assertFalse(ids(productUseCase.findProductByCategory(Category.LANCHE)).contains(id));
+    }
+
+    @Test
+    void disableProductById_ShouldDropTheRowFromCategoryReads() {
+        Long id = productUseCase.createProduct(product("Read Model Disabled", Category.BEBIDA, 0)).getId();
+
+        productUseCase.disableProductById(id);
+        clearCaches();
+
+        assertFalse(jdbcTemplate.queryForObject("SELECT active FROM product_read_model WHERE id = ?", Boolean.class, id));
+        assertFalse(ids(productUseCase.findProductByCategory(Category.BEBIDA)).contains(id));
+    }
+
+    @Test
+    void findProductsByIdsAndPages_ShouldReadFromTheModel() {
+        List<Long> ids = IntStream.range(0, 3)
+                .mapToObj(i -> productUseCase.createProduct(product("Read Model Page " + i, Category.ACOMPANHAMENTO, 1)).getId())
+                .toList();
+        clearCaches();
+
+        assertEquals(3, productUseCase.findProductsByIds(ids).getProducts().size());
+
+        String afterExistingRows = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("ACOMPANHAMENTO:" + (ids.get(0) - 1)).getBytes(StandardCharsets.UTF_8));
+        ProductPageDTO page = productUseCase.findProductPageByCategory(Category.ACOMPANHAMENTO, afterExistingRows, 2);
+        assertEquals(ids.subList(0, 2), ids(page.getItems()));
+        assertNotNull(page.getNext());
+    }
+
+    @Test
+    void refreshAll_ShouldRewriteStaleRowsButKeepNewerOnes() {
+        Long stale = productUseCase.createProduct(product("Read Model Stale", Category.LANCHE, 1)).getId();
+        Long newer = productUseCase.createProduct(product("Read Model Newer", Category.LANCHE, 1)).getId();
+        jdbcTemplate.update("UPDATE product_read_model SET name = 'outdated', images = '[]'::jsonb WHERE id = ?", stale);
+        jdbcTemplate.update("UPDATE product_read_model SET name = 'written later', updated_at = COALESCE(updated_at, created_at) + interval '1 day' WHERE id = ?", newer);
+
+        readModel.refreshAll();
+
+        assertEquals("Read Model Stale", jdbcTemplate.queryForObject("SELECT name FROM product_read_model WHERE id = ?", String.class, stale));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT jsonb_array_length(images) FROM product_read_model WHERE id = ?", Integer.class, stale));
+        assertEquals("written later", jdbcTemplate.queryForObject("SELECT name FROM product_read_model WHERE id = ?", String.class, newer));
+    }
+
+    @Test
+    void refreshAll_ShouldLeaveUpToDateRowsUntouched() {
+        Long id = productUseCase.createProduct(product("Read Model Current", Category.BEBIDA, 2)).getId();
+        String location = jdbcTemplate.queryForObject("SELECT ctid::text FROM product_read_model WHERE id = ?", String.class, id);
+
+        readModel.refreshAll();
+
+        // An UPDATE writes a new tuple version, which would move the row.
+        assertEquals(location, jdbcTemplate.queryForObject("SELECT ctid::text FROM product_read_model WHERE id = ?", String.class, id));
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private static List<Long> ids(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getId).toList();
+    }
+
+    private static ProductDTO product(String name, Category category, int imageCount) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(name);
+        productDTO.setPrice(new BigDecimal("19.99"));
+        productDTO.setCategory(category);
+        productDTO.setImages(IntStream.rangeClosed(1, imageCount)
+                .mapToObj(i -> new ProductImageDTO("http://example.com/" + name.replace(' ', '-') + "-" + i + ".jpg"))
+                .toList());
+        return productDTO;
+    }
+}
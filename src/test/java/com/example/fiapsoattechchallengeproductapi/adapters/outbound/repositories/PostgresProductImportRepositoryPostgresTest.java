@@ -0,0 +1,142 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductEntity;
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImage;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the COPY import against the Flyway schema; see application-postgres-test.properties.
+ */
+@SpringBootTest(properties = "product.read-model.enabled=true")
+@ActiveProfiles("postgres-test")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_TEST_URL", matches = ".+")
+@Transactional
+class PostgresProductImportRepositoryPostgresTest {
+
+    @Autowired
+    private PostgresProductImportRepository importRepository;
+
+    @Autowired
+    private ProductUseCase productUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importProducts_ShouldWriteTextWithCommasQuotesAndLineBreaksAsGiven() {
+        String name = "X-Burger \"Especial\", duplo";
+        String description = "Pão, carne \"angus\"\ne molho";
+
+        Long id = importRepository.importProducts(List.of(product(name, description, 2))).get(0);
+
+        assertEquals(name, jdbcTemplate.queryForObject("SELECT name FROM product WHERE id = ?", String.class, id));
+        assertEquals(description, jdbcTemplate.queryForObject("SELECT description FROM product WHERE id = ?", String.class, id));
+        assertNull(jdbcTemplate.queryForObject("SELECT description FROM product WHERE id = ?", String.class,
+                importRepository.importProducts(List.of(product("Sem descrição", null, 0))).get(0)));
+    }
+
+    @Test
+    void importProducts_ShouldAttachEveryImageToItsOwnProduct() {
+        List<Product> products = List.of(product("Import Images A", null, 3), product("Import Images B", null, 0),
+                product("Import Images C", null, 2));
+
+        List<Long> ids = importRepository.importProducts(products);
+
+        assertEquals(ids, products.stream().map(Product::getId).toList());
+        for (int i = 0; i < products.size(); i++) {
+            assertEquals(urls(products.get(i)), jdbcTemplate.queryForList(
+                    "SELECT url FROM product_image WHERE product_id = ? ORDER BY id", String.class, ids.get(i)));
+        }
+    }
+
+    @Test
+    void importProducts_ShouldNotCollideWithIdsHandedOutByJpa() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(productUseCase.createProduct(dto("Import Ids Before", 2)).getId());
+
+        // More than one pooled block, so the reservation has to take several nextval values.
+        int count = JpaProductEntity.ID_ALLOCATION_SIZE + 5;
+        ids.addAll(importRepository.importProducts(IntStream.range(0, count)
+                .mapToObj(i -> product("Import Ids " + i, null, 1))
+                .toList()));
+        ids.add(productUseCase.createProduct(dto("Import Ids After", 2)).getId());
+
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(count + 2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM product WHERE name LIKE 'Import Ids %'", Integer.class));
+        assertEquals(count + 4, jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT i.id) FROM product_image i JOIN product p ON p.id = i.product_id WHERE p.name LIKE 'Import Ids %'",
+                Integer.class));
+    }
+
+    @Test
+    void importProducts_ShouldRefreshTheReadModel() {
+        Long id = importRepository.importProducts(List.of(product("Import Read Model", null, 2))).get(0);
+
+        assertEquals("Import Read Model", jdbcTemplate.queryForObject(
+                "SELECT name FROM product_read_model WHERE id = ?", String.class, id));
+        assertEquals("[\"http://example.com/Import-Read-Model-1.jpg\", \"http://example.com/Import-Read-Model-2.jpg\"]",
+                jdbcTemplate.queryForObject("SELECT images::text FROM product_read_model WHERE id = ?", String.class, id));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importProducts_WhenTheImageCopyFails_ShouldWriteNothing() {
+        Product broken = product("Import Rollback Broken", null, 0);
+        broken.setImages(List.of(new ProductImage("http://example.com/" + "x".repeat(300) + ".jpg")));
+        List<Product> products = List.of(product("Import Rollback Fine", null, 1), broken);
+
+        assertThrows(DataAccessException.class, () -> importRepository.importProducts(products));
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM product WHERE name LIKE 'Import Rollback %'", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM product_read_model WHERE name LIKE 'Import Rollback %'", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM product_image WHERE url = 'http://example.com/Import-Rollback-Fine-1.jpg'", Integer.class));
+    }
+
+    private static List<String> urls(Product product) {
+        return product.getImages().stream().map(ProductImage::getUrl).toList();
+    }
+
+    private static Product product(String name, String description, int imageCount) {
+        return new Product(null, name, new BigDecimal("19.90"), description, Category.LANCHE, true,
+                IntStream.rangeClosed(1, imageCount)
+                        .mapToObj(i -> new ProductImage("http://example.com/" + name.replace(' ', '-') + "-" + i + ".jpg"))
+                        .toList(),
+                null, null);
+    }
+
+    private static ProductDTO dto(String name, int imageCount) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(name);
+        productDTO.setPrice(new BigDecimal("19.90"));
+        productDTO.setCategory(Category.LANCHE);
+        productDTO.setImages(IntStream.rangeClosed(1, imageCount)
+                .mapToObj(i -> new ProductImageDTO("http://example.com/" + name.replace(' ', '-') + "-" + i + ".jpg"))
+                .toList());
+        return productDTO;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositories;
+
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImage;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the ranked search against the generated search_vector column (V6); see application-postgres-test.properties.
+ * Every product carries the made-up word "zabumba" so rows left in the scratch database do not match.
+ */
+@SpringBootTest
+@ActiveProfiles("postgres-test")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_TEST_URL", matches = ".+")
+@Transactional
+class PostgresProductSearchRepositoryPostgresTest {
+
+    @Autowired
+    private PostgresProductSearchRepository searchRepository;
+
+    @Autowired
+    private ProductUseCase productUseCase;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long nameHit;
+    private Long descriptionHit;
+    private Long otherCategoryNameHit;
+    private Long inactiveNameHit;
+
+    @BeforeEach
+    void setUp() {
+        nameHit = create("Zabumba Burger", "Pão e carne", Category.LANCHE, 2);
+        descriptionHit = create("Burger da Casa", "Com molho zabumba", Category.LANCHE, 1);
+        otherCategoryNameHit = create("Suco Zabumba", "Laranja", Category.BEBIDA, 0);
+        inactiveNameHit = create("Zabumba Antigo", "Fora do cardápio", Category.LANCHE, 1);
+        productUseCase.disableProductById(inactiveNameHit);
+        // The search runs on JdbcTemplate, which does not trigger Hibernate's auto-flush.
+        entityManager.flush();
+    }
+
+    @Test
+    void search_ShouldRankNameHitsAboveDescriptionHitsAndSkipInactiveProducts() {
+        List<Long> ids = ids(searchRepository.search("zabumba", null, 10));
+
+        assertEquals(Set.of(nameHit, otherCategoryNameHit, descriptionHit), Set.copyOf(ids));
+        assertEquals(descriptionHit, ids.get(2));
+        assertFalse(ids.contains(inactiveNameHit));
+    }
+
+    @Test
+    void search_WithCategory_ShouldOnlyReturnThatCategory() {
+        assertEquals(List.of(nameHit, descriptionHit), ids(searchRepository.search("zabumba", Category.LANCHE, 10)));
+        assertEquals(List.of(otherCategoryNameHit), ids(searchRepository.search("zabumba", Category.BEBIDA, 10)));
+    }
+
+    @Test
+    void search_WithLimit_ShouldLimitProductsAndKeepAllTheirImages() {
+        List<Product> products = searchRepository.search("zabumba", Category.LANCHE, 1);
+
+        assertEquals(List.of(nameHit), ids(products));
+        assertEquals(List.of("http://example.com/Zabumba-Burger-1.jpg", "http://example.com/Zabumba-Burger-2.jpg"),
+                products.get(0).getImages().stream().map(ProductImage::getUrl).toList());
+    }
+
+    @Test
+    void search_ShouldReturnEveryProductWithItsOwnImages() {
+        List<Product> products = searchRepository.search("zabumba", null, 10);
+
+        for (Product product : products) {
+            String prefix = "http://example.com/" + product.getName().replace(' ', '-') + "-";
+            assertTrue(product.getImages().stream().allMatch(image -> image.getUrl().startsWith(prefix)));
+        }
+        assertEquals(List.of(2, 1, 0), List.of(nameHit, descriptionHit, otherCategoryNameHit).stream()
+                .map(id -> products.stream().filter(product -> product.getId().equals(id)).findFirst().orElseThrow())
+                .map(product -> product.getImages().size())
+                .toList());
+    }
+
+    @Test
+    void search_WithWebSearchSyntax_ShouldHonourExclusions() {
+        assertEquals(List.of(otherCategoryNameHit), ids(searchRepository.search("zabumba -burger", null, 10)));
+    }
+
+    private Long create(String name, String description, Category category, int imageCount) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(name);
+        productDTO.setDescription(description);
+        productDTO.setPrice(new BigDecimal("19.90"));
+        productDTO.setCategory(category);
+        productDTO.setImages(IntStream.rangeClosed(1, imageCount)
+                .mapToObj(i -> new ProductImageDTO("http://example.com/" + name.replace(' ', '-') + "-" + i + ".jpg"))
+                .toList());
+        return productUseCase.createProduct(productDTO).getId();
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
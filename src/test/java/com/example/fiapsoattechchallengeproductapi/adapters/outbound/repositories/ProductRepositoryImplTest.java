@@ -2,17 +2,23 @@ package com.example.fiapsoattechchallengeproductapi.adapters.outbound.repositori
 
 import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductEntity;
 import com.example.fiapsoattechchallengeproductapi.adapters.outbound.entities.JpaProductImageEntity;
+import com.example.fiapsoattechchallengeproductapi.adapters.outbound.notifications.ProductChangeNotifier;
 import com.example.fiapsoattechchallengeproductapi.domain.Category;
 import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductField;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductImage;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductVersion;
 import com.example.fiapsoattechchallengeproductapi.exceptions.ProductNotFoundException;
 import com.example.fiapsoattechchallengeproductapi.utils.mappers.ProductMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -20,8 +26,11 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -40,6 +49,21 @@ class ProductRepositoryImplTest {
     @Mock
     private ProductMapper mapper;
 
+    @Mock
+    private ProductChangeNotifier changeNotifier;
+
+    @Mock
+    private JpaProductProjectionQuery projectionQuery;
+
+    @Mock
+    private JdbcProductReadModel readModel;
+
+    @Mock
+    private JdbcJoinProductReader joinReader;
+
+    @Mock
+    private ProductCatalogVersionCounter catalogVersion;
+
     @InjectMocks
     private ProductRepositoryImpl productRepository;
 
@@ -118,6 +142,115 @@ class ProductRepositoryImplTest {
         imageEntityList = Arrays.asList(imageEntity, imageEntity2);
     }
 
+    // No repository path may fall back to reading a whole table.
+    @AfterEach
+    void neverReadsWholeTables() {
+        verify(jpaProductRepository, never()).findAll();
+        verify(jpaProductImageRepository, never()).findAll();
+    }
+
+    @Test
+    void findProductByCategory_WhenReadModelServesReads_ShouldUseSingleTableQuery() {
+        when(readModel.servesReads()).thenReturn(true);
+        when(readModel.findActiveByCategory(Category.LANCHE)).thenReturn(productList);
+
+        List<Product> result = productRepository.findProductByCategory(Category.LANCHE);
+
+        assertEquals(productList, result);
+        verifyNoInteractions(jpaProductRepository, jpaProductImageRepository, mapper);
+    }
+
+    @Test
+    void findAll_WhenJoinReaderServesReads_ShouldUseSingleJoinQuery() {
+        when(joinReader.servesReads()).thenReturn(true);
+        when(joinReader.findByIds(List.of(1L, 2L))).thenReturn(productList);
+
+        List<Product> result = productRepository.findAll(List.of(1L, 2L));
+
+        assertEquals(productList, result);
+        verifyNoInteractions(jpaProductRepository, jpaProductImageRepository, mapper);
+    }
+
+    @Test
+    void findById_WhenReadModelServesReadsAndRowIsMissing_ShouldThrowProductNotFoundException() {
+        when(readModel.servesReads()).thenReturn(true);
+        when(readModel.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class, () -> productRepository.findById(99L));
+        verifyNoInteractions(jpaProductRepository, jpaProductImageRepository);
+    }
+
+    @Test
+    void save_WhenReadModelIsMaintained_ShouldFlushAndRefreshTheProductRow() {
+        when(readModel.isMaintained()).thenReturn(true);
+        when(jpaProductRepository.save(any(JpaProductEntity.class))).thenReturn(productEntity);
+        when(jpaProductImageRepository.saveAll(anyList())).thenReturn(Collections.singletonList(imageEntity));
+        when(mapper.jpaToDomain(any(JpaProductEntity.class), anyList())).thenReturn(product);
+
+        productRepository.save(product);
+
+        var inOrder = inOrder(jpaProductRepository, readModel);
+        inOrder.verify(jpaProductRepository).flush();
+        inOrder.verify(readModel).refresh(List.of(1L));
+    }
+
+    @Test
+    void save_WhenReadModelIsNotMaintained_ShouldNotRefresh() {
+        when(jpaProductRepository.save(any(JpaProductEntity.class))).thenReturn(productEntity);
+        when(jpaProductImageRepository.saveAll(anyList())).thenReturn(Collections.singletonList(imageEntity));
+        when(mapper.jpaToDomain(any(JpaProductEntity.class), anyList())).thenReturn(product);
+
+        productRepository.save(product);
+
+        verify(readModel, never()).refresh(anyCollection());
+    }
+
+    @Test
+    void findProductByCategory_WithFieldsWithoutImages_ShouldNotQueryImages() {
+        var fields = EnumSet.of(ProductField.ID, ProductField.NAME, ProductField.PRICE);
+        Product projected = new Product();
+        projected.setId(1L);
+        when(projectionQuery.findActiveByCategory("LANCHE", fields)).thenReturn(List.of(projected));
+
+        List<Product> result = productRepository.findProductByCategory(Category.LANCHE, fields);
+
+        assertEquals(List.of(projected), result);
+        assertNull(result.get(0).getImages());
+        verifyNoInteractions(jpaProductImageRepository);
+        verify(jpaProductRepository, never()).findProductByCategory(anyString());
+    }
+
+    @Test
+    void findAll_WithImagesField_ShouldLoadImagesOfProjectedProductsInOneQuery() {
+        var fields = EnumSet.of(ProductField.ID, ProductField.IMAGES);
+        Product first = new Product();
+        first.setId(1L);
+        Product second = new Product();
+        second.setId(2L);
+        List<ProductImage> firstImages = List.of(new ProductImage("http://example.com/image.jpg"));
+        when(projectionQuery.findByIds(List.of(1L, 2L), fields)).thenReturn(List.of(first, second));
+        when(jpaProductImageRepository.findByProductIdIn(List.of(1L, 2L))).thenReturn(List.of(imageEntity));
+        when(mapper.mapImageJpaToDomainList(List.of(imageEntity))).thenReturn(firstImages);
+        when(mapper.mapImageJpaToDomainList(List.of())).thenReturn(List.of());
+
+        List<Product> result = productRepository.findAll(List.of(1L, 2L), fields);
+
+        assertEquals(firstImages, result.get(0).getImages());
+        assertTrue(result.get(1).getImages().isEmpty());
+        verify(jpaProductImageRepository, times(1)).findByProductIdIn(anyCollection());
+    }
+
+    @Test
+    void findProductPageByCategory_WithFields_ShouldDelegateToProjection() {
+        var fields = EnumSet.of(ProductField.NAME);
+        when(projectionQuery.findActivePageByCategory("LANCHE", 10L, 21, fields)).thenReturn(List.of());
+
+        List<Product> result = productRepository.findProductPageByCategory(Category.LANCHE, 10L, 21, fields);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(jpaProductImageRepository);
+    }
+
     @Test
     void save_ShouldSaveProductAndImages() {
         when(jpaProductRepository.save(any(JpaProductEntity.class))).thenReturn(productEntity);
@@ -135,12 +268,29 @@ class ProductRepositoryImplTest {
         verify(jpaProductRepository, times(1)).save(any(JpaProductEntity.class));
         verify(jpaProductImageRepository, times(1)).saveAll(anyList());
         verify(mapper, times(1)).jpaToDomain(any(JpaProductEntity.class), anyList());
+        verify(changeNotifier, times(1)).notifyChange(argThat(event ->
+                event.getProductId().equals(1L) && event.getCategories().equals(Set.of(Category.LANCHE))));
+    }
+
+    @Test
+    void save_ShouldFlushThenCarryTheNextCatalogVersionInTheEvent() {
+        when(jpaProductRepository.save(any(JpaProductEntity.class))).thenReturn(productEntity);
+        when(jpaProductImageRepository.saveAll(anyList())).thenReturn(Collections.singletonList(imageEntity));
+        when(mapper.jpaToDomain(any(JpaProductEntity.class), anyList())).thenReturn(product);
+        when(catalogVersion.increment()).thenReturn(8L);
+
+        productRepository.save(product);
+
+        var inOrder = inOrder(jpaProductRepository, catalogVersion, changeNotifier);
+        inOrder.verify(jpaProductRepository).flush();
+        inOrder.verify(catalogVersion).increment();
+        inOrder.verify(changeNotifier).notifyChange(argThat(event -> event.getCatalogVersion().equals(8L)));
     }
 
     @Test
     void findAll_ShouldReturnProductList() {
         when(jpaProductRepository.findAllById(anyList())).thenReturn(productEntityList);
-        when(jpaProductImageRepository.findAll()).thenReturn(imageEntityList);
+        when(jpaProductImageRepository.findByProductIdIn(List.of(1L, 2L))).thenReturn(imageEntityList);
         when(mapper.jpaToDomainList(anyList(), anyList())).thenReturn(productList);
 
         List<Product> result = productRepository.findAll(Arrays.asList(1L, 2L));
@@ -149,14 +299,15 @@ class ProductRepositoryImplTest {
         assertEquals(2, result.size());
 
         verify(jpaProductRepository, times(1)).findAllById(anyList());
-        verify(jpaProductImageRepository, times(1)).findAll();
+        verify(jpaProductImageRepository, times(1)).findByProductIdIn(List.of(1L, 2L));
+        verify(jpaProductImageRepository, never()).findAll();
         verify(mapper, times(1)).jpaToDomainList(anyList(), anyList());
     }
 
     @Test
     void findById_WhenProductExists_ShouldReturnProduct() {
         when(jpaProductRepository.findById(1L)).thenReturn(Optional.of(productEntity));
-        when(jpaProductImageRepository.findByProductId(1L)).thenReturn(Collections.singletonList(imageEntity));
+        when(jpaProductImageRepository.findByProductIdOrderById(1L)).thenReturn(Collections.singletonList(imageEntity));
         when(mapper.jpaToDomain(any(JpaProductEntity.class), anyList())).thenReturn(product);
 
         Optional<Product> result = productRepository.findById(1L);
@@ -167,7 +318,7 @@ class ProductRepositoryImplTest {
         assertEquals(Category.LANCHE, result.get().getCategory());
 
         verify(jpaProductRepository, times(1)).findById(1L);
-        verify(jpaProductImageRepository, times(1)).findByProductId(1L);
+        verify(jpaProductImageRepository, times(1)).findByProductIdOrderById(1L);
         verify(mapper, times(1)).jpaToDomain(any(JpaProductEntity.class), anyList());
     }
 
@@ -178,14 +329,14 @@ class ProductRepositoryImplTest {
         assertThrows(ProductNotFoundException.class, () -> productRepository.findById(99L));
 
         verify(jpaProductRepository, times(1)).findById(99L);
-        verify(jpaProductImageRepository, never()).findByProductId(anyLong());
+        verify(jpaProductImageRepository, never()).findByProductIdOrderById(anyLong());
         verify(mapper, never()).jpaToDomain(any(JpaProductEntity.class), anyList());
     }
 
     @Test
     void findProductByCategory_ShouldReturnProductList() {
         when(jpaProductRepository.findProductByCategory("LANCHE")).thenReturn(productEntityList);
-        when(jpaProductImageRepository.findAll()).thenReturn(imageEntityList);
+        when(jpaProductImageRepository.findByProductIdIn(List.of(1L, 2L))).thenReturn(imageEntityList);
         when(mapper.jpaToDomainList(anyList(), anyList())).thenReturn(productList);
 
         List<Product> result = productRepository.findProductByCategory(Category.LANCHE);
@@ -194,10 +345,74 @@ class ProductRepositoryImplTest {
         assertEquals(2, result.size());
 
         verify(jpaProductRepository, times(1)).findProductByCategory("LANCHE");
-        verify(jpaProductImageRepository, times(1)).findAll();
+        verify(jpaProductImageRepository, times(1)).findByProductIdIn(List.of(1L, 2L));
+        verify(jpaProductImageRepository, never()).findAll();
         verify(mapper, times(1)).jpaToDomainList(anyList(), anyList());
     }
 
+    @Test
+    void findProductByCategory_WhenNoProductsExist_ShouldNotQueryImages() {
+        when(jpaProductRepository.findProductByCategory("SOBREMESA")).thenReturn(Collections.emptyList());
+        when(mapper.jpaToDomainList(anyList(), anyList())).thenReturn(Collections.emptyList());
+
+        List<Product> result = productRepository.findProductByCategory(Category.SOBREMESA);
+
+        assertTrue(result.isEmpty());
+
+        verify(jpaProductImageRepository, never()).findByProductIdIn(anyCollection());
+        verify(jpaProductImageRepository, never()).findAll();
+    }
+
+    @Test
+    void findProductPageByCategory_ShouldQueryAfterCursorWithLimit() {
+        when(jpaProductRepository.findProductPageByCategory("LANCHE", 10L, PageRequest.of(0, 3))).thenReturn(productEntityList);
+        when(jpaProductImageRepository.findByProductIdIn(List.of(1L, 2L))).thenReturn(imageEntityList);
+        when(mapper.jpaToDomainList(productEntityList, imageEntityList)).thenReturn(productList);
+
+        List<Product> result = productRepository.findProductPageByCategory(Category.LANCHE, 10L, 3);
+
+        assertEquals(2, result.size());
+        verify(jpaProductImageRepository, never()).findAll();
+    }
+
+    @Test
+    void findVersionById_ShouldUseLastModificationTimestamp() {
+        LocalDateTime lastModified = LocalDateTime.of(2025, 1, 10, 12, 0);
+        when(jpaProductRepository.findLastModifiedById(1L)).thenReturn(Optional.of(lastModified));
+
+        ProductVersion result = productRepository.findVersionById(1L);
+
+        assertEquals(lastModified, result.getLastModified());
+        assertEquals("1-" + result.getLastModifiedEpochMillis(), result.getETag());
+    }
+
+    @Test
+    void findVersionById_WhenProductDoesNotExist_ShouldThrowException() {
+        when(jpaProductRepository.findLastModifiedById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class, () -> productRepository.findVersionById(99L));
+    }
+
+    @Test
+    void findVersionByCategory_ShouldChangeWhenProductLeavesCategory() {
+        LocalDateTime lastModified = LocalDateTime.of(2025, 1, 10, 12, 0);
+        JpaProductRepository.CategoryVersionView beforeMove = mock(JpaProductRepository.CategoryVersionView.class);
+        when(beforeMove.getTotal()).thenReturn(2L);
+        when(beforeMove.getIdSum()).thenReturn(3L);
+        when(beforeMove.getLastModified()).thenReturn(lastModified);
+        JpaProductRepository.CategoryVersionView afterMove = mock(JpaProductRepository.CategoryVersionView.class);
+        when(afterMove.getTotal()).thenReturn(1L);
+        when(afterMove.getIdSum()).thenReturn(1L);
+        when(afterMove.getLastModified()).thenReturn(lastModified);
+        when(jpaProductRepository.findVersionByCategory("LANCHE")).thenReturn(beforeMove, afterMove);
+
+        ProductVersion before = productRepository.findVersionByCategory(Category.LANCHE);
+        ProductVersion after = productRepository.findVersionByCategory(Category.LANCHE);
+
+        assertEquals(before.getLastModified(), after.getLastModified());
+        assertNotEquals(before.getETag(), after.getETag());
+    }
+
     @Test
     void deleteById_ShouldDisableProductWhenProductExists() {
         when(jpaProductRepository.findById(1L)).thenReturn(Optional.of(productEntity));
@@ -207,6 +422,7 @@ class ProductRepositoryImplTest {
 
         verify(jpaProductRepository, times(1)).findById(1L);
         verify(jpaProductRepository, times(1)).save(productEntity);
+        verify(changeNotifier, times(1)).notifyChange(any(ProductChangedEvent.class));
         assertFalse(productEntity.getActive());
         assertNotNull(productEntity.getUpdatedAt());
     }
@@ -219,15 +435,15 @@ class ProductRepositoryImplTest {
 
         verify(jpaProductRepository, times(1)).findById(99L);
         verify(jpaProductRepository, never()).save(any(JpaProductEntity.class));
+        verify(changeNotifier, never()).notifyChange(any(ProductChangedEvent.class));
     }
 
     @Test
-    void updateProduct_ShouldUpdateProductAndImages() {
+    void updateProduct_WhenImagesAreUnchanged_ShouldNotTouchImageRows() {
         when(jpaProductRepository.findById(1L)).thenReturn(Optional.of(productEntity));
         when(jpaProductRepository.save(any(JpaProductEntity.class))).thenReturn(productEntity);
-        doNothing().when(jpaProductImageRepository).deleteAllImagesByProductId(1L);
-        when(jpaProductImageRepository.saveAll(anyList())).thenReturn(Collections.singletonList(imageEntity));
-        when(mapper.jpaToDomain(any(JpaProductEntity.class), anyList())).thenReturn(product);
+        when(jpaProductImageRepository.findByProductIdOrderById(1L)).thenReturn(List.of(imageEntity));
+        when(mapper.jpaToDomain(productEntity, List.of(imageEntity))).thenReturn(product);
 
         Product result = productRepository.updateProduct(1L, product);
 
@@ -237,10 +453,97 @@ class ProductRepositoryImplTest {
         assertEquals(Category.LANCHE, result.getCategory());
 
         verify(jpaProductRepository, times(1)).findById(1L);
-        verify(jpaProductImageRepository, times(1)).deleteAllImagesByProductId(1L);
         verify(jpaProductRepository, times(1)).save(any(JpaProductEntity.class));
-        verify(jpaProductImageRepository, times(1)).saveAll(anyList());
-        verify(mapper, times(1)).jpaToDomain(any(JpaProductEntity.class), anyList());
+        verify(jpaProductImageRepository, never()).deleteAllInBatch(anyList());
+        verify(jpaProductImageRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void updateProduct_WhenImagesChange_ShouldOnlyInsertAndDeleteTheDifference() {
+        JpaProductImageEntity removedImage = new JpaProductImageEntity();
+        removedImage.setId(3L);
+        removedImage.setProductId(1L);
+        removedImage.setUrl("http://example.com/removed.jpg");
+
+        ProductImage addedImage = new ProductImage();
+        addedImage.setUrl("http://example.com/added.jpg");
+        product.setImages(List.of(product.getImages().get(0), addedImage));
+
+        when(jpaProductRepository.findById(1L)).thenReturn(Optional.of(productEntity));
+        when(jpaProductRepository.save(any(JpaProductEntity.class))).thenReturn(productEntity);
+        when(jpaProductImageRepository.findByProductIdOrderById(1L)).thenReturn(List.of(imageEntity, removedImage));
+        assignImageIdsFrom(4L);
+        when(mapper.jpaToDomain(any(JpaProductEntity.class), anyList())).thenReturn(product);
+
+        productRepository.updateProduct(1L, product);
+
+        verify(jpaProductImageRepository, times(1)).deleteAllInBatch(List.of(removedImage));
+        verify(jpaProductImageRepository, times(1)).saveAll(argThat((List<JpaProductImageEntity> inserted) ->
+                inserted.size() == 1 && inserted.get(0).getUrl().equals("http://example.com/added.jpg")
+                        && inserted.get(0).getProductId().equals(1L)));
+        verify(mapper, times(1)).jpaToDomain(eq(productEntity), argThat((List<JpaProductImageEntity> images) ->
+                images.size() == 2 && images.get(0) == imageEntity
+                        && images.get(1).getUrl().equals("http://example.com/added.jpg")));
+    }
+
+    @Test
+    void updateProduct_WhenImagesAreReordered_ShouldRewriteFromTheFirstMovedImage() {
+        JpaProductImageEntity first = image(1L, "http://example.com/a.jpg");
+        JpaProductImageEntity second = image(2L, "http://example.com/b.jpg");
+        JpaProductImageEntity third = image(3L, "http://example.com/c.jpg");
+        product.setImages(List.of(new ProductImage("http://example.com/a.jpg"), new ProductImage("http://example.com/c.jpg"),
+                new ProductImage("http://example.com/b.jpg")));
+
+        when(jpaProductRepository.findById(1L)).thenReturn(Optional.of(productEntity));
+        when(jpaProductRepository.save(any(JpaProductEntity.class))).thenReturn(productEntity);
+        when(jpaProductImageRepository.findByProductIdOrderById(1L)).thenReturn(List.of(first, second, third));
+        assignImageIdsFrom(10L);
+        when(mapper.jpaToDomain(any(JpaProductEntity.class), anyList())).thenReturn(product);
+
+        productRepository.updateProduct(1L, product);
+
+        verify(jpaProductImageRepository, times(1)).deleteAllInBatch(List.of(second, third));
+        verify(mapper, times(1)).jpaToDomain(eq(productEntity), argThat((List<JpaProductImageEntity> images) ->
+                images.stream().map(JpaProductImageEntity::getUrl).toList().equals(List.of(
+                        "http://example.com/a.jpg", "http://example.com/c.jpg", "http://example.com/b.jpg"))
+                        && images.get(0) == first && images.get(1).getId() == 10L && images.get(2).getId() == 11L));
+    }
+
+    @Test
+    void updateProduct_WhenNewIdsSortBeforeKeptImages_ShouldRewriteEveryImage() {
+        JpaProductImageEntity kept = image(50L, "http://example.com/a.jpg");
+        JpaProductImageEntity replaced = image(51L, "http://example.com/b.jpg");
+        product.setImages(List.of(new ProductImage("http://example.com/a.jpg"), new ProductImage("http://example.com/c.jpg")));
+
+        when(jpaProductRepository.findById(1L)).thenReturn(Optional.of(productEntity));
+        when(jpaProductRepository.save(any(JpaProductEntity.class))).thenReturn(productEntity);
+        when(jpaProductImageRepository.findByProductIdOrderById(1L)).thenReturn(List.of(kept, replaced));
+        assignImageIdsFrom(5L);
+        when(mapper.jpaToDomain(any(JpaProductEntity.class), anyList())).thenReturn(product);
+
+        productRepository.updateProduct(1L, product);
+
+        verify(jpaProductImageRepository, times(1)).deleteAllInBatch(List.of(replaced));
+        verify(jpaProductImageRepository, times(1)).deleteAllInBatch(List.of(kept));
+        verify(jpaProductImageRepository, times(1)).deleteAll(argThat((List<JpaProductImageEntity> inserted) ->
+                inserted.size() == 1 && inserted.get(0).getId() == 5L));
+        verify(mapper, times(1)).jpaToDomain(eq(productEntity), argThat((List<JpaProductImageEntity> images) ->
+                images.stream().map(JpaProductImageEntity::getId).toList().equals(List.of(6L, 7L))));
+    }
+
+    @Test
+    void updateProduct_WhenCategoryChanges_ShouldNotifyPreviousAndNewCategory() {
+        product.setCategory(Category.BEBIDA);
+        when(jpaProductRepository.findById(1L)).thenReturn(Optional.of(productEntity));
+        when(jpaProductRepository.save(any(JpaProductEntity.class))).thenReturn(productEntity);
+        when(jpaProductImageRepository.findByProductIdOrderById(1L)).thenReturn(List.of(imageEntity));
+        when(mapper.jpaToDomain(any(JpaProductEntity.class), anyList())).thenReturn(product);
+
+        productRepository.updateProduct(1L, product);
+
+        verify(changeNotifier, times(1)).notifyChange(argThat(event ->
+                event.getProductId().equals(1L)
+                        && event.getCategories().equals(Set.of(Category.LANCHE, Category.BEBIDA))));
     }
 
     @Test
@@ -250,9 +553,25 @@ class ProductRepositoryImplTest {
         assertThrows(RuntimeException.class, () -> productRepository.updateProduct(99L, product));
 
         verify(jpaProductRepository, times(1)).findById(99L);
-        verify(jpaProductImageRepository, never()).deleteAllImagesByProductId(anyLong());
+        verify(jpaProductImageRepository, never()).deleteAllInBatch(anyList());
         verify(jpaProductRepository, never()).save(any(JpaProductEntity.class));
         verify(jpaProductImageRepository, never()).saveAll(anyList());
         verify(mapper, never()).jpaToDomain(any(JpaProductEntity.class), anyList());
     }
-}
\ No newline at end of file
+
+    // saveAll assigns sequence ids in list order, as Hibernate does when the entities are persisted.
+    private void assignImageIdsFrom(long firstId) {
+        var nextId = new AtomicLong(firstId);
+        when(jpaProductImageRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<JpaProductImageEntity> images = invocation.getArgument(0);
+            images.forEach(image -> image.setId(nextId.getAndIncrement()));
+            return images;
+        });
+    }
+
+    private static JpaProductImageEntity image(Long id, String url) {
+        JpaProductImageEntity image = new JpaProductImageEntity(1L, url, null, null);
+        image.setId(id);
+        return image;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductChangedEvent;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductExportRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSuggestionDTO;
+import com.example.fiapsoattechchallengeproductapi.utils.mappers.ProductMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveProductViewsTest {
+
+    @Mock
+    private ProductExportRepository productExportRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameIndex index;
+    private ProductMenu menu;
+    private ActiveProductViews views;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex();
+        menu = new ProductMenu(new ProductMapper(), productExportRepository);
+        views = new ActiveProductViews(List.of(index), menu, productExportRepository, productRepository);
+    }
+
+    @Test
+    void rebuild_ShouldLoadTheCatalogOnceForEveryViewAndTheMenu() {
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product(1L, "Milk-shake", true));
+            consumer.accept(product(2L, "Milho", false));
+            return 4L;
+        }).when(productExportRepository).forEachProductAtCatalogVersion(any());
+
+        views.rebuild();
+
+        verify(productExportRepository, times(1)).forEachProductAtCatalogVersion(any());
+        assertEquals(List.of(1L), ids(index.suggest("mil", 10)));
+        assertEquals(4, menu.current().getVersion());
+        assertEquals(1, menu.current().getCategories().get(Category.LANCHE).size());
+    }
+
+    @Test
+    void rebuild_ShouldKeepWritesMadeWhileLoading() {
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product(1L, "Cheeseburger", true));
+            index.put(product(2L, "Chocolate quente", true));
+            index.remove(1L);
+            return 4L;
+        }).when(productExportRepository).forEachProductAtCatalogVersion(any());
+
+        views.rebuild();
+
+        assertEquals(List.of(2L), ids(index.suggest("ch", 10)));
+    }
+
+    @Test
+    void rebuild_WhenLoadFails_ShouldKeepThePreviousViews() {
+        index.put(product(1L, "Cheeseburger", true));
+        doThrow(new IllegalStateException("database down"))
+                .when(productExportRepository).forEachProductAtCatalogVersion(any());
+
+        assertThrows(IllegalStateException.class, views::rebuild);
+
+        index.put(product(2L, "Chocolate quente", true));
+        assertEquals(List.of(1L, 2L), ids(index.suggest("ch", 10)));
+        assertEquals(0, menu.current().getVersion());
+    }
+
+    @Test
+    void onProductChanged_OutsideTransaction_ShouldReadTheProductOnceAndReloadTheMenu() {
+        when(productRepository.findAll(List.of(1L))).thenReturn(List.of(product(1L, "Cheeseburger", true)));
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product(1L, "Cheeseburger", true));
+            return 7L;
+        }).when(productExportRepository).forEachProductAtCatalogVersion(any());
+
+        views.onProductChanged(ProductChangedEvent.of(1L, Category.LANCHE).withCatalogVersion(7L));
+
+        verify(productRepository, times(1)).findAll(List.of(1L));
+        assertEquals(List.of(1L), ids(index.suggest("chee", 10)));
+        assertEquals(7, menu.current().getVersion());
+        assertEquals(1L, menu.current().getCategories().get(Category.LANCHE).get(0).id());
+    }
+
+    @Test
+    void onProductChanged_WhenMenuAlreadyIncludesTheVersion_ShouldOnlyUpdateTheViews() {
+        menu.replace(List.of(product(1L, "Cheeseburger", true)), 7);
+        index.put(product(1L, "Cheeseburger", true));
+        when(productRepository.findAll(List.of(1L))).thenReturn(List.of());
+
+        views.onProductChanged(ProductChangedEvent.of(1L, Category.LANCHE).withCatalogVersion(6L));
+
+        assertTrue(index.suggest("chee", 10).isEmpty());
+        assertEquals(7, menu.current().getVersion());
+        verifyNoInteractions(productExportRepository);
+    }
+
+    @Test
+    void onProductChanged_WhenEventCoversAllProducts_ShouldRebuild() {
+        views.onProductChanged(ProductChangedEvent.everything());
+
+        verify(productExportRepository).forEachProductAtCatalogVersion(any());
+        verifyNoInteractions(productRepository);
+    }
+
+    private static List<Long> ids(List<ProductSuggestionDTO> suggestions) {
+        return suggestions.stream().map(ProductSuggestionDTO::getId).toList();
+    }
+
+    private static Product product(Long id, String name, boolean active) {
+        return new Product(id, name, new BigDecimal("10.00"), null, Category.LANCHE, active, List.of(), null, null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductExportRepository;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImage;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductMenuDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductMenuDTO.Item;
+import com.example.fiapsoattechchallengeproductapi.utils.mappers.ProductMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductMenuTest {
+
+    @Mock
+    private ProductExportRepository productExportRepository;
+
+    private ProductMenu menu;
+
+    @BeforeEach
+    void setUp() {
+        menu = new ProductMenu(new ProductMapper(), productExportRepository);
+    }
+
+    @Test
+    void current_BeforeAnyLoad_ShouldListEveryCategoryEmpty() {
+        ProductMenuDTO current = menu.current();
+
+        assertEquals(0, current.getVersion());
+        assertEquals(List.of(Category.values()), List.copyOf(current.getCategories().keySet()));
+        assertTrue(current.getCategories().values().stream().allMatch(List::isEmpty));
+    }
+
+    @Test
+    void replace_ShouldGroupProductsByCategoryInIdOrder() {
+        menu.replace(List.of(
+                product(3L, "Cheeseburger", Category.LANCHE, true),
+                product(1L, "X-Salada", Category.LANCHE, true),
+                product(2L, "Refrigerante", Category.BEBIDA, true)), 5);
+
+        ProductMenuDTO current = menu.current();
+        assertEquals(5, current.getVersion());
+        assertEquals(List.of(1L, 3L), ids(current, Category.LANCHE));
+        assertEquals(List.of(2L), ids(current, Category.BEBIDA));
+        assertEquals("http://example.com/1.jpg", current.getCategories().get(Category.LANCHE).get(0).images().get(0).url());
+    }
+
+    @Test
+    void replace_WhenCatalogVersionIsNotNewer_ShouldKeepTheCurrentMenu() {
+        menu.replace(List.of(product(1L, "X-Salada", Category.LANCHE, true)), 5);
+        ProductMenuDTO loaded = menu.current();
+
+        menu.replace(List.of(), 4);
+        menu.replace(List.of(), 5);
+
+        assertSame(loaded, menu.current());
+    }
+
+    @Test
+    void reload_ShouldSwapInTheActiveProductsAtTheLoadedCatalogVersion() {
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product(1L, "Pudim", Category.SOBREMESA, false));
+            consumer.accept(product(2L, "Brownie", Category.SOBREMESA, true));
+            return 9L;
+        }).when(productExportRepository).forEachProductAtCatalogVersion(any());
+        ProductMenuDTO before = menu.current();
+
+        menu.reload();
+
+        assertEquals(0, before.getVersion());
+        assertTrue(ids(before, Category.SOBREMESA).isEmpty());
+        assertEquals(9, menu.current().getVersion());
+        assertEquals(List.of(2L), ids(menu.current(), Category.SOBREMESA));
+    }
+
+    @Test
+    void current_ShouldNotBeModifiable() {
+        menu.replace(List.of(product(1L, "X-Salada", Category.LANCHE, true)), 1);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> menu.current().getCategories().get(Category.LANCHE).remove(0));
+        assertThrows(UnsupportedOperationException.class,
+                () -> menu.current().getCategories().get(Category.LANCHE).get(0).images().clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> menu.current().getCategories().remove(Category.LANCHE));
+    }
+
+    private static List<Long> ids(ProductMenuDTO menu, Category category) {
+        return menu.getCategories().get(category).stream().map(Item::id).toList();
+    }
+
+    private static Product product(Long id, String name, Category category, boolean active) {
+        return new Product(id, name, new BigDecimal("10.00"), null, category, active,
+                List.of(new ProductImage("http://example.com/" + id + ".jpg")), null, null);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ProductMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new ProductMetrics(registry);
+    }
+
+    @Test
+    void recordCategoryLoad_ShouldRecordSizePerCategory() {
+        metrics.recordCategoryLoad(Category.LANCHE, 12);
+        metrics.recordCategoryLoad(Category.LANCHE, 8);
+        metrics.recordCategoryLoad(Category.BEBIDA, 3);
+
+        DistributionSummary lanche = registry.get("product.category.loaded.size").tag("category", "LANCHE").summary();
+        assertEquals(2, lanche.count());
+        assertEquals(20, lanche.totalAmount());
+        assertEquals(1, registry.get("product.category.loaded.size").tag("category", "BEBIDA").summary().count());
+    }
+
+    @Test
+    void recordBatchResult_ShouldRecordRequestedAndFound() {
+        metrics.recordBatchResult(5, 3);
+
+        assertEquals(5, registry.get("product.batch.result.size").tag("result", "requested").summary().totalAmount());
+        assertEquals(3, registry.get("product.batch.result.size").tag("result", "found").summary().totalAmount());
+    }
+}
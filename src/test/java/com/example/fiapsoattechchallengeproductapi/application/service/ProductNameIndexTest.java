@@ -0,0 +1,98 @@
+package com.example.fiapsoattechchallengeproductapi.application.service;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.Product;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductSuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductNameIndexTest {
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex();
+    }
+
+    @Test
+    void suggest_ShouldIgnoreAccentsAndCase() {
+        index.put(product(1L, "Pão de Queijo", true));
+        index.put(product(2L, "Pastel", true));
+
+        assertEquals(List.of(1L), ids(index.suggest("pao", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("PÃO DE Q", 10)));
+        assertEquals("Pão de Queijo", index.suggest("pao", 10).get(0).getName());
+    }
+
+    @Test
+    void suggest_ShouldMatchTheStartOfAnyWord() {
+        index.put(product(1L, "Pão de Queijo", true));
+        index.put(product(2L, "Queijo-quente", true));
+
+        assertEquals(List.of(1L, 2L), ids(index.suggest("queijo", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("queijo q", 10)));
+    }
+
+    @Test
+    void suggest_ShouldReturnEachProductOnceAndHonorTheLimit() {
+        index.put(product(1L, "Coca Cola", true));
+        index.put(product(2L, "Coca Cola", true));
+        index.put(product(3L, "Coca Cola Zero", true));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(index.suggest("co", 10)));
+        assertEquals(2, index.suggest("co", 2).size());
+    }
+
+    @Test
+    void put_WhenNameChangesOrProductIsDisabled_ShouldReplaceOrDropItsKeys() {
+        index.put(product(1L, "Suco de Laranja", true));
+        index.put(product(1L, "Suco de Uva", true));
+
+        assertTrue(index.suggest("laranja", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.suggest("uva", 10)));
+
+        index.put(product(1L, "Suco de Uva", false));
+        assertTrue(index.suggest("suco", 10).isEmpty());
+    }
+
+    @Test
+    void remove_ShouldDropProduct() {
+        index.putAll(List.of(product(1L, "Brownie", true), product(2L, "Brigadeiro", true)));
+
+        index.remove(1L);
+
+        assertEquals(List.of(2L), ids(index.suggest("br", 10)));
+    }
+
+    @Test
+    void finishRebuild_ShouldReplaceAllKeys() {
+        index.put(product(1L, "Milho", true));
+
+        index.startRebuild();
+        index.finishRebuild(Map.of(2L, product(2L, "Milk-shake", true)));
+
+        assertEquals(List.of(2L), ids(index.suggest("mil", 10)));
+    }
+
+    @Test
+    void suggest_WhenPrefixHasNoLettersOrDigits_ShouldReturnNothing() {
+        index.put(product(1L, "X-Burger", true));
+
+        assertTrue(index.suggest(" - ", 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<ProductSuggestionDTO> suggestions) {
+        return suggestions.stream().map(ProductSuggestionDTO::getId).toList();
+    }
+
+    private static Product product(Long id, String name, boolean active) {
+        return new Product(id, name, new BigDecimal("10.00"), null, Category.LANCHE, active, List.of(), null, null);
+    }
+}
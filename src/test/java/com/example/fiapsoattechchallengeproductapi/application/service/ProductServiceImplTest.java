@@ -1,6 +1,8 @@
 package com.example.fiapsoattechchallengeproductapi.application.service;
 
 import com.example.fiapsoattechchallengeproductapi.domain.*;
+import com.example.fiapsoattechchallengeproductapi.exceptions.InvalidProductRequestException;
+import com.example.fiapsoattechchallengeproductapi.exceptions.ProductNotFoundException;
 import com.example.fiapsoattechchallengeproductapi.utils.mappers.ProductMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,10 +14,16 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,9 +37,27 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductExportRepository productExportRepository;
+
+    @Mock
+    private ProductImportRepository productImportRepository;
+
+    @Mock
+    private ProductSearchRepository productSearchRepository;
+
     @Mock
     private ProductMapper mapper;
 
+    @Mock
+    private ProductMetrics metrics;
+
+    @Mock
+    private ProductNameIndex productNameIndex;
+
+    @Mock
+    private ProductMenu productMenu;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -118,6 +144,8 @@ class ProductServiceImplTest {
         verify(mapper, times(1)).DTOtoDomain(any(ProductDTO.class));
         verify(productRepository, times(1)).save(any(Product.class));
         verify(mapper, times(1)).domainToDTO(any(Product.class));
+        verify(productNameIndex).put(product);
+        verify(productMenu).reload();
     }
 
     @Test
@@ -164,6 +192,240 @@ class ProductServiceImplTest {
 
         verify(productRepository, times(1)).findProductByCategory(Category.LANCHE);
         verify(mapper, times(1)).domainToDTOList(anyList());
+        verify(metrics, times(1)).recordCategoryLoad(Category.LANCHE, 2);
+    }
+
+    @Test
+    void findProductsByIds_ShouldDeduplicateAndKeepRequestOrder() {
+        when(productRepository.findAll(List.of(2L, 99L, 1L))).thenReturn(productList);
+        when(mapper.domainToDTO(productList.get(0))).thenReturn(productDTO);
+        when(mapper.domainToDTO(productList.get(1))).thenReturn(productDTOList.get(1));
+
+        ProductBatchResponseDTO result = productService.findProductsByIds(List.of(2L, 99L, 2L, 1L));
+
+        assertEquals(2, result.getProducts().size());
+        assertEquals(2L, result.getProducts().get(0).getId());
+        assertEquals(1L, result.getProducts().get(1).getId());
+        assertEquals(List.of(99L), result.getMissingIds());
+
+        verify(productRepository, times(1)).findAll(List.of(2L, 99L, 1L));
+        verify(metrics, times(1)).recordBatchResult(3, 2);
+    }
+
+    @Test
+    void findProductsByIds_WhenIdsAreEmpty_ShouldNotQueryRepository() {
+        ProductBatchResponseDTO result = productService.findProductsByIds(List.of());
+
+        assertTrue(result.getProducts().isEmpty());
+        assertTrue(result.getMissingIds().isEmpty());
+
+        verify(productRepository, never()).findAll(anyList());
+    }
+
+    @Test
+    void findProductsByIds_WhenTooManyIds_ShouldThrowException() {
+        List<Long> ids = LongStream.rangeClosed(1, ProductServiceImpl.MAX_BATCH_SIZE + 1L).boxed().toList();
+
+        assertThrows(InvalidProductRequestException.class, () -> productService.findProductsByIds(ids));
+
+        verify(productRepository, never()).findAll(anyList());
+    }
+
+    @Test
+    void findProductPageByCategory_WhenMoreProductsExist_ShouldReturnNextCursor() {
+        when(productRepository.findProductPageByCategory(Category.LANCHE, 0L, 2)).thenReturn(productList);
+        when(mapper.domainToDTOList(List.of(product))).thenReturn(List.of(productDTO));
+
+        ProductPageDTO firstPage = productService.findProductPageByCategory(Category.LANCHE, null, 1);
+
+        assertEquals(1, firstPage.getItems().size());
+        assertNotNull(firstPage.getNext());
+
+        when(productRepository.findProductPageByCategory(Category.LANCHE, 1L, 2)).thenReturn(List.of(productList.get(1)));
+        when(mapper.domainToDTOList(List.of(productList.get(1)))).thenReturn(List.of(productDTOList.get(1)));
+
+        ProductPageDTO secondPage = productService.findProductPageByCategory(Category.LANCHE, firstPage.getNext(), 1);
+
+        assertEquals(2L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNext());
+    }
+
+    @Test
+    void findProductPageByCategory_WhenCursorBelongsToAnotherCategory_ShouldThrowException() {
+        when(productRepository.findProductPageByCategory(Category.LANCHE, 0L, 2)).thenReturn(productList);
+        when(mapper.domainToDTOList(anyList())).thenReturn(List.of(productDTO));
+
+        String cursor = productService.findProductPageByCategory(Category.LANCHE, null, 1).getNext();
+
+        assertThrows(InvalidProductRequestException.class,
+                () -> productService.findProductPageByCategory(Category.BEBIDA, cursor, 1));
+        assertThrows(InvalidProductRequestException.class,
+                () -> productService.findProductPageByCategory(Category.LANCHE, "not-a-cursor", 1));
+    }
+
+    @Test
+    void findProductPageByCategory_WhenLimitIsOutOfRange_ShouldThrowException() {
+        assertThrows(InvalidProductRequestException.class,
+                () -> productService.findProductPageByCategory(Category.LANCHE, null, 0));
+        assertThrows(InvalidProductRequestException.class,
+                () -> productService.findProductPageByCategory(Category.LANCHE, null, ProductServiceImpl.MAX_PAGE_SIZE + 1));
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void searchProducts_ShouldTrimQueryAndUseDefaultLimit() {
+        when(productSearchRepository.search("pão de queijo", Category.LANCHE, ProductServiceImpl.DEFAULT_SEARCH_LIMIT))
+                .thenReturn(productList);
+        when(mapper.domainToDTOList(productList)).thenReturn(productDTOList);
+
+        List<ProductDTO> result = productService.searchProducts("  pão de queijo ", Category.LANCHE, null);
+
+        assertEquals(productDTOList, result);
+    }
+
+    @Test
+    void searchProducts_WhenQueryOrLimitIsInvalid_ShouldThrowException() {
+        assertThrows(InvalidProductRequestException.class, () -> productService.searchProducts(" ", null, null));
+        assertThrows(InvalidProductRequestException.class,
+                () -> productService.searchProducts("x".repeat(ProductServiceImpl.MAX_SEARCH_QUERY_LENGTH + 1), null, null));
+        assertThrows(InvalidProductRequestException.class,
+                () -> productService.searchProducts("lanche", null, ProductServiceImpl.MAX_SEARCH_LIMIT + 1));
+
+        verifyNoInteractions(productSearchRepository);
+    }
+
+    @Test
+    void findMenu_ShouldReturnCurrentSnapshotWithoutRepository() {
+        var menu = new ProductMenuDTO(7, Map.of(Category.LANCHE, productDTOList.stream().map(ProductMenuDTO.Item::of).toList()));
+        when(productMenu.current()).thenReturn(menu);
+
+        assertSame(menu, productService.findMenu());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void suggestProducts_ShouldAnswerFromNameIndexWithoutRepository() {
+        var suggestions = List.of(new ProductSuggestionDTO(1L, "Test Product"));
+        when(productNameIndex.suggest("tes", ProductServiceImpl.DEFAULT_SUGGESTION_LIMIT)).thenReturn(suggestions);
+
+        assertEquals(suggestions, productService.suggestProducts("tes", null));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void suggestProducts_WhenPrefixOrLimitIsInvalid_ShouldThrowException() {
+        assertThrows(InvalidProductRequestException.class, () -> productService.suggestProducts(" ", null));
+        assertThrows(InvalidProductRequestException.class,
+                () -> productService.suggestProducts("pao", ProductServiceImpl.MAX_SUGGESTION_LIMIT + 1));
+
+        verifyNoInteractions(productNameIndex);
+    }
+
+    @Test
+    void findProductById_WithFields_ShouldUseProjection() {
+        Set<ProductField> fields = EnumSet.of(ProductField.ID, ProductField.NAME);
+        when(productRepository.findAll(List.of(1L), fields)).thenReturn(List.of(product));
+        when(mapper.domainToDTO(product)).thenReturn(productDTO);
+
+        ProductDTO result = productService.findProductById(1L, fields);
+
+        assertEquals(1L, result.getId());
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void findProductById_WithFields_WhenProductDoesNotExist_ShouldThrowException() {
+        Set<ProductField> fields = EnumSet.of(ProductField.ID);
+        when(productRepository.findAll(List.of(99L), fields)).thenReturn(List.of());
+
+        assertThrows(ProductNotFoundException.class, () -> productService.findProductById(99L, fields));
+    }
+
+    @Test
+    void findProductByCategory_WithFields_ShouldUseProjectionAndRecordMetrics() {
+        Set<ProductField> fields = EnumSet.of(ProductField.ID, ProductField.PRICE);
+        when(productRepository.findProductByCategory(Category.LANCHE, fields)).thenReturn(productList);
+        when(mapper.domainToDTOList(productList)).thenReturn(productDTOList);
+
+        List<ProductDTO> result = productService.findProductByCategory(Category.LANCHE, fields);
+
+        assertEquals(2, result.size());
+        verify(productRepository, never()).findProductByCategory(Category.LANCHE);
+        verify(metrics, times(1)).recordCategoryLoad(Category.LANCHE, 2);
+    }
+
+    @Test
+    void findProductPageByCategory_WithFields_ShouldApplySameLimitAndCursor() {
+        Set<ProductField> fields = EnumSet.of(ProductField.NAME);
+        when(productRepository.findProductPageByCategory(Category.LANCHE, 0L, 2, fields)).thenReturn(productList);
+        when(mapper.domainToDTOList(List.of(product))).thenReturn(List.of(productDTO));
+
+        ProductPageDTO page = productService.findProductPageByCategory(Category.LANCHE, null, 1, fields);
+
+        assertEquals(1, page.getItems().size());
+        assertNotNull(page.getNext());
+        assertThrows(InvalidProductRequestException.class,
+                () -> productService.findProductPageByCategory(Category.LANCHE, null, 0, fields));
+    }
+
+    @Test
+    void findProductsByIds_WithFields_ShouldDeduplicateAndUseProjection() {
+        Set<ProductField> fields = EnumSet.of(ProductField.ID, ProductField.PRICE);
+        when(productRepository.findAll(List.of(2L, 99L, 1L), fields)).thenReturn(productList);
+        when(mapper.domainToDTO(productList.get(0))).thenReturn(productDTO);
+        when(mapper.domainToDTO(productList.get(1))).thenReturn(productDTOList.get(1));
+
+        ProductBatchResponseDTO result = productService.findProductsByIds(List.of(2L, 99L, 2L, 1L), fields);
+
+        assertEquals(2L, result.getProducts().get(0).getId());
+        assertEquals(List.of(99L), result.getMissingIds());
+        verify(productRepository, never()).findAll(anyList());
+        verify(metrics, times(1)).recordBatchResult(3, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportCatalog_ShouldMapEachStreamedProduct() {
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            productList.forEach(consumer);
+            return null;
+        }).when(productExportRepository).forEachProduct(any());
+        when(mapper.domainToDTO(productList.get(0))).thenReturn(productDTO);
+        when(mapper.domainToDTO(productList.get(1))).thenReturn(productDTOList.get(1));
+
+        List<ProductDTO> exported = new ArrayList<>();
+        productService.exportCatalog(exported::add);
+
+        assertEquals(List.of(productDTO, productDTOList.get(1)), exported);
+        verify(mapper, never()).domainToDTOList(anyList());
+    }
+
+    @Test
+    void importCatalog_ShouldImportAllProductsInOneCall() {
+        productDTOList.get(1).setImages(null);
+        productDTOList.get(1).setActive(null);
+        when(mapper.DTOtoDomain(productDTO)).thenReturn(product);
+        when(mapper.DTOtoDomain(productDTOList.get(1))).thenReturn(productList.get(1));
+        when(productImportRepository.importProducts(productList)).thenReturn(List.of(10L, 11L));
+
+        ProductImportResultDTO result = productService.importCatalog(productDTOList);
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(10L, 11L), result.getIds());
+        assertEquals(List.of(), productDTOList.get(1).getImages());
+        assertTrue(productDTOList.get(1).getActive());
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void importCatalog_WhenProductIsInvalid_ShouldRejectWholeImport() {
+        productDTOList.get(1).setCategory(null);
+
+        assertThrows(InvalidProductRequestException.class, () -> productService.importCatalog(productDTOList));
+
+        verify(productImportRepository, never()).importProducts(anyList());
     }
 
     @Test
@@ -209,5 +471,15 @@ class ProductServiceImplTest {
 
         productService.disableProductById(1L);
         verify(productRepository, times(1)).deleteById(1L);
+        verify(productNameIndex).remove(1L);
+        verify(productMenu).reload();
+    }
+
+    @Test
+    void disableProductById_WhenRepositoryFails_ShouldKeepTheProductInTheViews() {
+        doThrow(new ProductNotFoundException("Error disabling product with ID 1")).when(productRepository).deleteById(1L);
+
+        assertThrows(ProductNotFoundException.class, () -> productService.disableProductById(1L));
+        verifyNoInteractions(productNameIndex, productMenu);
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.example.fiapsoattechchallengeproductapi.integration;
+
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductBatchResponseDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductPageDTO;
+import com.example.fiapsoattechchallengeproductapi.integration.SqlStatementCounter.SqlCounts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "product.repository.read-mode=jdbc-join")
+@ActiveProfiles("test")
+@Transactional
+@Import(SqlStatementCounter.class)
+public class JdbcJoinReadIntegrationTest extends SqlCountingIntegrationTest {
+
+    @Autowired
+    private ProductUseCase productUseCase;
+
+    @Test
+    void findProductByCategory_ShouldRunOneJoinQuery() {
+        for (int i = 0; i < 3; i++) {
+            productUseCase.createProduct(productWithImages("Join Product " + i, Category.SOBREMESA, 2));
+        }
+        productUseCase.createProduct(productWithImages("Join Without Images", Category.SOBREMESA, 0));
+
+        startCountingStatements();
+        List<ProductDTO> products = productUseCase.findProductByCategory(Category.SOBREMESA);
+
+        assertEquals(4, products.size());
+        assertEquals(List.of(2, 2, 2, 0), products.stream().map(product -> product.getImages().size()).toList());
+        // 3 products with 2 images each + 1 product without images
+        assertEquals(new SqlCounts(1, 0, 0, 0, 7), sqlStatementCounter.counts());
+    }
+
+    @Test
+    void findProductsByIds_ShouldRunOneJoinQuery() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(productUseCase.createProduct(productWithImages("Join Batch " + i, Category.LANCHE, 2)).getId());
+        }
+        ids.add(999999L);
+
+        startCountingStatements();
+        ProductBatchResponseDTO response = productUseCase.findProductsByIds(ids);
+
+        assertEquals(3, response.getProducts().size());
+        assertEquals(new SqlCounts(1, 0, 0, 0, 6), sqlStatementCounter.counts());
+    }
+
+    @Test
+    void findProductPageByCategory_ShouldLimitProductsNotJoinedRows() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(productUseCase.createProduct(productWithImages("Join Page " + i, Category.BEBIDA, 3)).getId());
+        }
+
+        startCountingStatements();
+        ProductPageDTO page = productUseCase.findProductPageByCategory(Category.BEBIDA, null, 2);
+
+        assertEquals(ids.subList(0, 2), page.getItems().stream().map(ProductDTO::getId).toList());
+        assertEquals(3, page.getItems().get(1).getImages().size());
+    }
+
+    @Test
+    void findProductById_ShouldKeepImageOrder() {
+        Long id = productUseCase.createProduct(productWithImages("Join By Id", Category.LANCHE, 3)).getId();
+
+        startCountingStatements();
+        ProductDTO product = productUseCase.findProductById(id);
+
+        assertEquals(List.of("http://example.com/Join-By-Id-1.jpg", "http://example.com/Join-By-Id-2.jpg",
+                "http://example.com/Join-By-Id-3.jpg"), product.getImages().stream().map(ProductImageDTO::getUrl).toList());
+        assertEquals(1, sqlStatementCounter.counts().selects());
+    }
+}
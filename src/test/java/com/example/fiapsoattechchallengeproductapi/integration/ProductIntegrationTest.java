@@ -1,14 +1,23 @@
 package com.example.fiapsoattechchallengeproductapi.integration;
 
+import com.example.fiapsoattechchallengeproductapi.application.service.ProductCaches;
+import com.example.fiapsoattechchallengeproductapi.application.usecase.ProductUseCase;
 import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductBatchRequestDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductBatchResponseDTO;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductField;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductPageDTO;
 import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import com.example.fiapsoattechchallengeproductapi.integration.SqlStatementCounter.SqlCounts;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -16,7 +25,9 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,7 +38,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Transactional
-public class ProductIntegrationTest {
+@Import(SqlStatementCounter.class)
+public class ProductIntegrationTest extends SqlCountingIntegrationTest {
 
     @Autowired
     private MockMvc mockMvc;
@@ -35,6 +47,9 @@ public class ProductIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ProductUseCase productUseCase;
+
     @Test
     void createProduct_ShouldReturnCreatedProduct() throws Exception {
         ProductDTO productDTO = new ProductDTO();
@@ -78,6 +93,125 @@ public class ProductIntegrationTest {
                 .andExpect(jsonPath("$.name").value("Integration Test Product"));
     }
 
+    @Test
+    void createProduct_WithFiveImages_ShouldInsertProductAndBatchImagesInTwoStatements() throws Exception {
+        ProductDTO productDTO = productWithImages("Batched Product", Category.LANCHE, 5);
+
+        startCountingStatements();
+        productUseCase.createProduct(productDTO);
+        entityManager.flush();
+
+        // Pooled ids need no nextval per row and the five images go out as one JDBC batch. The catalog version is
+        // bumped and read back (1 update, 1 select), then the menu reloads it and the catalog (2 selects, 1 + 5 rows).
+        assertEquals(new SqlCounts(3, 2, 1, 0, 7), sqlStatementCounter.counts());
+    }
+
+    @Test
+    void updateProduct_ShouldLoadOnceAndWriteOnlyTheImageDifference() throws Exception {
+        ProductDTO created = productUseCase.createProduct(productWithImages("Diffed Product", Category.LANCHE, 2));
+        ProductDTO update = productWithImages("Diffed Product", Category.LANCHE, 0);
+        update.setPrice(new BigDecimal("29.99"));
+        update.setImages(List.of(created.getImages().get(0), new ProductImageDTO("http://example.com/new.jpg")));
+
+        startCountingStatements();
+        productUseCase.updateProduct(created.getId(), update);
+        entityManager.flush();
+
+        // product + its 2 images read, 1 product update, 1 image deleted, 1 image inserted; then the catalog version
+        // bump (1 update, 1 select) and the menu reload (2 selects, the version and the product's 2 image rows)
+        assertEquals(new SqlCounts(5, 1, 2, 1, 7), sqlStatementCounter.counts());
+    }
+
+    @Test
+    void updateProduct_WhenImagesAreReordered_ShouldKeepTheNewOrderOnLaterReads() {
+        ProductDTO created = productUseCase.createProduct(productWithImages("Reordered Product", Category.LANCHE, 2));
+        ProductDTO update = productWithImages("Reordered Product", Category.LANCHE, 0);
+        update.setImages(List.of(created.getImages().get(1), created.getImages().get(0)));
+
+        productUseCase.updateProduct(created.getId(), update);
+        startCountingStatements();
+
+        assertEquals(List.of("http://example.com/Reordered-Product-2.jpg", "http://example.com/Reordered-Product-1.jpg"),
+                productUseCase.findProductById(created.getId()).getImages().stream().map(ProductImageDTO::getUrl).toList());
+    }
+
+    @Test
+    void findProductByCategory_ShouldReadProductsAndImagesInTwoQueries() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            productUseCase.createProduct(productWithImages("Listed Product " + i, Category.SOBREMESA, 2));
+        }
+        productUseCase.createProduct(productWithImages("Other Category", Category.BEBIDA, 2));
+
+        startCountingStatements();
+        List<ProductDTO> products = productUseCase.findProductByCategory(Category.SOBREMESA);
+
+        assertEquals(3, products.size());
+        // 3 product rows + 6 image rows: no per-product image query and no read of other categories' images
+        assertEquals(new SqlCounts(2, 0, 0, 0, 9), sqlStatementCounter.counts());
+    }
+
+    @Test
+    void findProductByCategory_WithFieldsWithoutImages_ShouldRunOneQueryAndSkipProductImage() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            productUseCase.createProduct(productWithImages("Sparse Product " + i, Category.SOBREMESA, 2));
+        }
+
+        startCountingStatements();
+        List<ProductDTO> products = productUseCase.findProductByCategory(Category.SOBREMESA,
+                EnumSet.of(ProductField.ID, ProductField.NAME, ProductField.PRICE, ProductField.ACTIVE));
+
+        assertEquals(3, products.size());
+        assertNotNull(products.get(0).getName());
+        assertNull(products.get(0).getDescription());
+        assertNull(products.get(0).getImages());
+        assertEquals(new SqlCounts(1, 0, 0, 0, 3), sqlStatementCounter.counts());
+    }
+
+    @Test
+    void findProductById_WithFields_ShouldReturnOnlyRequestedFields() throws Exception {
+        ProductDTO created = createProduct("Sparse By Id", Category.BEBIDA, "http://example.com/sparse.jpg");
+
+        mockMvc.perform(get("/product/" + created.getId() + "?fields=id,name,price,images"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(created.getId()))
+                .andExpect(jsonPath("$.name").value("Sparse By Id"))
+                .andExpect(jsonPath("$.images[0].url").value("http://example.com/sparse.jpg"))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.createdAt").doesNotExist());
+    }
+
+    @Test
+    void findMenu_And_SuggestProducts_ShouldNotQueryTheDatabase() throws Exception {
+        ProductDTO created = productUseCase.createProduct(productWithImages("Açaí na Tigela", Category.SOBREMESA, 1));
+
+        startCountingStatements();
+        mockMvc.perform(get("/product/menu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").isNumber())
+                .andExpect(jsonPath("$.categories.SOBREMESA[?(@.id == " + created.getId() + ")].name").value("Açaí na Tigela"));
+        mockMvc.perform(get("/product/suggest?prefix=acai"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + created.getId() + ")]").exists());
+
+        assertEquals(new SqlCounts(0, 0, 0, 0, 0), sqlStatementCounter.counts());
+    }
+
+    @Test
+    void findProductsByIds_ShouldReadProductsAndImagesInTwoQueries() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(productUseCase.createProduct(productWithImages("Batch Read " + i, Category.LANCHE, 2)).getId());
+        }
+        productUseCase.createProduct(productWithImages("Not Requested", Category.LANCHE, 2));
+        ids.add(999999L);
+
+        startCountingStatements();
+        ProductBatchResponseDTO response = productUseCase.findProductsByIds(ids);
+
+        assertEquals(3, response.getProducts().size());
+        assertEquals(new SqlCounts(2, 0, 0, 0, 9), sqlStatementCounter.counts());
+    }
+
     @Test
     void findProductById_WhenProductDoesNotExist_ShouldReturnNotFound() throws Exception {
         mockMvc.perform(get("/product/999"))
@@ -123,6 +257,58 @@ public class ProductIntegrationTest {
         assertTrue(foundCreatedProduct);
     }
 
+    @Test
+    void findProductsByIds_ShouldReturnProductsInRequestOrderAndMissingIds() throws Exception {
+        ProductDTO first = createProduct("Batch Product 1", Category.LANCHE, "http://example.com/batch-1.jpg");
+        ProductDTO second = createProduct("Batch Product 2", Category.BEBIDA, "http://example.com/batch-2.jpg");
+
+        ProductBatchRequestDTO request = new ProductBatchRequestDTO(
+                List.of(second.getId(), 999999L, first.getId(), second.getId()));
+
+        MvcResult result = mockMvc.perform(post("/product/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ProductBatchResponseDTO response = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                ProductBatchResponseDTO.class
+        );
+
+        assertEquals(2, response.getProducts().size());
+        assertEquals(second.getId(), response.getProducts().get(0).getId());
+        assertEquals("http://example.com/batch-2.jpg", response.getProducts().get(0).getImages().get(0).getUrl());
+        assertEquals(first.getId(), response.getProducts().get(1).getId());
+        assertEquals("http://example.com/batch-1.jpg", response.getProducts().get(1).getImages().get(0).getUrl());
+        assertEquals(List.of(999999L), response.getMissingIds());
+    }
+
+    @Test
+    void findProductPageByCategory_ShouldWalkCategoryWithCursor() throws Exception {
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            createdIds.add(createProduct("Paged Product " + i, Category.ACOMPANHAMENTO, "http://example.com/paged-" + i + ".jpg").getId());
+        }
+
+        List<Long> pagedIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = "/product/page?category=ACOMPANHAMENTO&limit=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            MvcResult result = mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ProductPageDTO page = objectMapper.readValue(result.getResponse().getContentAsString(), ProductPageDTO.class);
+            assertTrue(page.getItems().size() <= 2);
+            page.getItems().forEach(product -> pagedIds.add(product.getId()));
+            cursor = page.getNext();
+        } while (cursor != null);
+
+        assertEquals(pagedIds.stream().sorted().toList(), pagedIds);
+        assertEquals(pagedIds.stream().distinct().count(), pagedIds.size());
+        assertTrue(pagedIds.containsAll(createdIds));
+    }
+
     @Test
     void updateProduct_ShouldReturnUpdatedProduct() throws Exception {
         ProductDTO productDTO = new ProductDTO();
@@ -176,6 +362,58 @@ public class ProductIntegrationTest {
         assertEquals("http://example.com/updated.jpg", updatedProduct.getImages().get(0).getUrl());
     }
 
+    @Test
+    void findProductById_ShouldBeCachedUntilProductIsUpdated() throws Exception {
+        ProductDTO createdProduct = createProduct("Cached Product", Category.LANCHE, "http://example.com/cached.jpg");
+
+        mockMvc.perform(get("/product/" + createdProduct.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/product?category=LANCHE"))
+                .andExpect(status().isOk());
+
+        assertNotNull(cacheManager.getCache(ProductCaches.PRODUCT_BY_ID).get(createdProduct.getId()));
+        assertNotNull(cacheManager.getCache(ProductCaches.PRODUCTS_BY_CATEGORY).get(Category.LANCHE));
+
+        createdProduct.setPrice(new BigDecimal("11.99"));
+        mockMvc.perform(patch("/product/" + createdProduct.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createdProduct)))
+                .andExpect(status().isOk());
+
+        assertNull(cacheManager.getCache(ProductCaches.PRODUCT_BY_ID).get(createdProduct.getId()));
+        assertNull(cacheManager.getCache(ProductCaches.PRODUCTS_BY_CATEGORY).get(Category.LANCHE));
+
+        mockMvc.perform(get("/product/" + createdProduct.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(11.99));
+    }
+
+    @Test
+    void findProductById_WithMatchingETag_ShouldReturnNotModifiedUntilProductChanges() throws Exception {
+        ProductDTO createdProduct = createProduct("Conditional Product", Category.SOBREMESA, "http://example.com/conditional.jpg");
+
+        String eTag = mockMvc.perform(get("/product/" + createdProduct.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        mockMvc.perform(get("/product/" + createdProduct.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        createdProduct.setPrice(new BigDecimal("13.99"));
+        mockMvc.perform(patch("/product/" + createdProduct.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createdProduct)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/product/" + createdProduct.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(13.99));
+    }
+
     @Test
     void disableProductById_ShouldDisableProduct() throws Exception {
         ProductDTO productDTO = new ProductDTO();
@@ -207,4 +445,24 @@ public class ProductIntegrationTest {
                 .andExpect(jsonPath("$.active").value(false))
                 .andReturn();
     }
+
+    private ProductDTO createProduct(String name, Category category, String imageUrl) throws Exception {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(name);
+        productDTO.setDescription(name + " Description");
+        productDTO.setPrice(new BigDecimal("9.99"));
+        productDTO.setCategory(category);
+
+        ProductImageDTO imageDTO = new ProductImageDTO();
+        imageDTO.setUrl(imageUrl);
+        productDTO.setImages(Collections.singletonList(imageDTO));
+
+        MvcResult createResult = mockMvc.perform(post("/product")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productDTO)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readValue(createResult.getResponse().getContentAsString(), ProductDTO.class);
+    }
 }
@@ -0,0 +1,47 @@
+package com.example.fiapsoattechchallengeproductapi.integration;
+
+import com.example.fiapsoattechchallengeproductapi.domain.Category;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductDTO;
+import com.example.fiapsoattechchallengeproductapi.domain.ProductImageDTO;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.stream.IntStream;
+
+/**
+ * Shared by the integration tests that assert on the statements a use case runs; subclasses
+ * {@code @Import(SqlStatementCounter.class)}.
+ */
+abstract class SqlCountingIntegrationTest {
+
+    @Autowired
+    protected CacheManager cacheManager;
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @Autowired
+    protected SqlStatementCounter sqlStatementCounter;
+
+    // Pending inserts are flushed and every cache is emptied, so only the statements of the use case under test count.
+    protected void startCountingStatements() {
+        entityManager.flush();
+        entityManager.clear();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        sqlStatementCounter.reset();
+    }
+
+    protected static ProductDTO productWithImages(String name, Category category, int imageCount) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(name);
+        productDTO.setDescription(name + " Description");
+        productDTO.setPrice(new BigDecimal("19.99"));
+        productDTO.setCategory(category);
+        productDTO.setImages(IntStream.rangeClosed(1, imageCount)
+                .mapToObj(i -> new ProductImageDTO("http://example.com/" + name.replace(' ', '-') + "-" + i + ".jpg"))
+                .toList());
+        return productDTO;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.fiapsoattechchallengeproductapi.integration;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Wraps the application's DataSource and counts statement executions by type, plus the rows read through
+ * {@code ResultSet.next()}. A JDBC batch counts as one execution, which is one round trip. Sequence calls are left
+ * out because how many of them a test triggers depends on where the pooled id block happens to be.
+ */
+public class SqlStatementCounter implements BeanPostProcessor, QueryExecutionListener, MethodExecutionListener {
+
+    public record SqlCounts(long selects, long inserts, long updates, long deletes, long rowsFetched) {
+    }
+
+    private final Map<QueryType, Long> executions = new EnumMap<>(QueryType.class);
+    private long rowsFetched;
+    private boolean countingRows = true;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(this)
+                    .methodListener(this)
+                    .proxyResultSet()
+                    .build();
+        }
+        return bean;
+    }
+
+    public synchronized void reset() {
+        executions.clear();
+        rowsFetched = 0;
+    }
+
+    public synchronized SqlCounts counts() {
+        return new SqlCounts(count(QueryType.SELECT), count(QueryType.INSERT), count(QueryType.UPDATE),
+                count(QueryType.DELETE), rowsFetched);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public synchronized void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String query = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        countingRows = !isSequenceCall(query);
+        if (countingRows) {
+            executions.merge(QueryUtils.getQueryType(query), 1L, Long::sum);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public synchronized void afterMethod(MethodExecutionContext executionContext) {
+        if (countingRows && executionContext.getTarget() instanceof ResultSet
+                && executionContext.getMethod().getName().equals("next")
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            rowsFetched++;
+        }
+    }
+
+    private long count(QueryType type) {
+        return executions.getOrDefault(type, 0L);
+    }
+
+    private static boolean isSequenceCall(String query) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        return normalized.contains("nextval") || normalized.contains("next value for");
+    }
+}
@@ -0,0 +1,2 @@
+-- Hibernate runs this after create-drop builds the H2 schema; Flyway seeds the same row in V7 for Postgres.
+INSERT INTO product_catalog_version (id, version) VALUES (1, 1);